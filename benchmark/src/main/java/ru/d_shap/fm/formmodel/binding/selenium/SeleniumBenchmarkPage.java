@@ -0,0 +1,104 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+import ru.d_shap.fm.formmodel.definition.loader.FormDefinitionsLoader;
+import ru.d_shap.fm.formmodel.definition.loader.xml.FormXmlDefinitionsFileLoader;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * The synthetic page for the benchmarks. The page contains the form with the specified number of the
+ * input elements, and the filler content to reach the specified page size. The page is never smaller,
+ * than the form, so the small page sizes with the large number of the elements produce the larger pages.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumBenchmarkPage {
+
+    static final String FORM_ID = "benchmark";
+
+    static final String FIELD_ID = "field";
+
+    static final String SUBMIT_ID = "submit";
+
+    static final String BASE_URL = "http://localhost/benchmark";
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final String FORM_DEFINITION = "<?xml version=\"1.0\"?>\n"
+        + "<ns1:form id=\"" + FORM_ID + "\" xmlns:ns1=\"http://d-shap.ru/schema/form-model/1.0\">\n"
+        + "    <ns1:element id=\"" + FIELD_ID + "\" lookup=\"input.field\" type=\"optional+\"/>\n"
+        + "    <ns1:element id=\"" + SUBMIT_ID + "\" lookup=\"input[type='submit']\"/>\n"
+        + "</ns1:form>\n";
+
+    private static final int BYTES_IN_KB = 1024;
+
+    private SeleniumBenchmarkPage() {
+        super();
+    }
+
+    static String createHtml(final int pageSizeInKb, final int elementCount) {
+        int pageSize = pageSizeInKb * BYTES_IN_KB;
+        StringBuilder html = new StringBuilder(pageSize + BYTES_IN_KB);
+        html.append("<html><head><title>Benchmark page</title></head><body>");
+        html.append("<div class=\"header\"><a href=\"/\">Home</a><a href=\"/about\">About</a></div>");
+        html.append("<form action=\"/submit\" id=\"benchmark-form\">");
+        for (int i = 0; i < elementCount; i++) {
+            html.append("<div class=\"row\"><span>Field ").append(i).append(":</span><input class=\"field\" type=\"text\" name=\"field-").append(i).append("\" value=\"value-").append(i).append("\"></div>");
+        }
+        html.append("<input type=\"submit\" value=\"Submit\"></form>");
+        int fillerIndex = 0;
+        while (html.length() < pageSize) {
+            html.append("<div class=\"filler\"><p id=\"filler-").append(fillerIndex).append("\">Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore.</p><ul><li>One</li><li>Two</li><li>Three</li></ul></div>");
+            fillerIndex++;
+        }
+        html.append("</body></html>");
+        return html.toString();
+    }
+
+    static SeleniumReplayWebDriver createWebDriver(final int pageSizeInKb, final int elementCount) {
+        String html = createHtml(pageSizeInKb, elementCount);
+        return new SeleniumReplayWebDriver(Collections.singletonList(new SeleniumReplayPage(BASE_URL, html)));
+    }
+
+    static FormDefinitions createFormDefinitions() throws IOException {
+        File file = File.createTempFile("benchmark", ".xml");
+        file.deleteOnExit();
+        try (OutputStream outputStream = Files.newOutputStream(file.toPath()); Writer writer = new OutputStreamWriter(outputStream, Charset.forName(ENCODING))) {
+            writer.write(FORM_DEFINITION);
+        }
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinitionsLoader formDefinitionsLoader = new FormXmlDefinitionsFileLoader(file);
+        formDefinitionsLoader.load(formDefinitions);
+        return formDefinitions;
+    }
+
+}
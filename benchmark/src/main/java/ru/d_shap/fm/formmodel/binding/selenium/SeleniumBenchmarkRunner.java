@@ -0,0 +1,64 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The runner of the benchmarks. Reports the throughput and the allocation rate of every benchmark.
+ * The command line arguments are the JMH command line options.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumBenchmarkRunner {
+
+    private SeleniumBenchmarkRunner() {
+        super();
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the JMH command line options.
+     *
+     * @throws CommandLineOptionException if the command line options are not valid.
+     * @throws RunnerException            if the benchmarks failed.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(SeleniumBindingBenchmark.class.getSimpleName());
+            optionsBuilder.include(SeleniumLookupBenchmark.class.getSimpleName());
+            optionsBuilder.include(SeleniumRebindBenchmark.class.getSimpleName());
+        }
+        optionsBuilder.addProfiler(GCProfiler.class);
+        Options options = optionsBuilder.build();
+        new Runner(options).run();
+    }
+
+}
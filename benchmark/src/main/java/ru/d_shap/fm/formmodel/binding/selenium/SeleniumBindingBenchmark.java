@@ -0,0 +1,172 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.binding.FormBinder;
+import ru.d_shap.fm.formmodel.binding.html.HtmlFormInstanceBinder;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * The benchmarks of the binding pipeline: the parsing of the page snapshot, the binding of the parsed
+ * document with and without the Selenium binded element wrappers, the binding with the web driver
+ * and the lookups of the binded elements.
+ *
+ * @author Dmitry Shapovalov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeleniumBindingBenchmark {
+
+    /**
+     * The minimum size of the page in kilobytes.
+     */
+    @Param({"10", "100", "1000", "5000"})
+    int _pageSizeInKb;
+
+    /**
+     * The number of the binded elements.
+     */
+    @Param({"10", "100", "1000", "5000"})
+    int _elementCount;
+
+    private SeleniumReplayWebDriver _webDriver;
+
+    private SeleniumFormBinderContext _context;
+
+    private FormBinder _formBinder;
+
+    private FormBinder _htmlFormBinder;
+
+    private SeleniumFormBinder _seleniumFormBinder;
+
+    private SeleniumBindingSourceImpl _parsedBindingSource;
+
+    private Document _document;
+
+    /**
+     * Create new object.
+     */
+    public SeleniumBindingBenchmark() {
+        super();
+    }
+
+    /**
+     * Create the page, the replay web driver and the form binders.
+     *
+     * @throws IOException IO exception.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        _webDriver = SeleniumBenchmarkPage.createWebDriver(_pageSizeInKb, _elementCount);
+        FormDefinitions formDefinitions = SeleniumBenchmarkPage.createFormDefinitions();
+        _context = new SeleniumFormBinderContext();
+        _formBinder = new FormBinder(formDefinitions, new SeleniumFormInstanceBinder(_context));
+        _htmlFormBinder = new FormBinder(formDefinitions, new HtmlFormInstanceBinder());
+        _seleniumFormBinder = new SeleniumFormBinder(formDefinitions);
+        _parsedBindingSource = new SeleniumBindingSourceImpl(_webDriver, _context, null);
+        _parsedBindingSource.getDocument();
+        _document = _formBinder.bind(_parsedBindingSource, SeleniumBenchmarkPage.FORM_ID);
+    }
+
+    /**
+     * Take the page snapshot and parse it.
+     *
+     * @return the parsed document.
+     */
+    @Benchmark
+    public org.jsoup.nodes.Document getDocument() {
+        SeleniumBindingSourceImpl seleniumBindingSource = new SeleniumBindingSourceImpl(_webDriver, _context, null);
+        return seleniumBindingSource.getDocument();
+    }
+
+    /**
+     * Bind the parsed document with the Selenium binded element wrappers.
+     *
+     * @return the binding result.
+     */
+    @Benchmark
+    public Document bindParsedDocument() {
+        return _formBinder.bind(_parsedBindingSource, SeleniumBenchmarkPage.FORM_ID);
+    }
+
+    /**
+     * Bind the parsed document without the Selenium binded element wrappers. The difference with
+     * {@link #bindParsedDocument()} is the cost of the wrappers.
+     *
+     * @return the binding result.
+     */
+    @Benchmark
+    public Document bindParsedDocumentWithoutWrappers() {
+        return _htmlFormBinder.bind(_parsedBindingSource, SeleniumBenchmarkPage.FORM_ID);
+    }
+
+    /**
+     * Bind the form with the web driver: take the page snapshot, parse it and bind the parsed document.
+     *
+     * @return the binding result.
+     */
+    @Benchmark
+    public Document bind() {
+        return _seleniumFormBinder.bind(_webDriver, SeleniumBenchmarkPage.FORM_ID);
+    }
+
+    /**
+     * Get all binded elements with the ID.
+     *
+     * @return the binded elements.
+     */
+    @Benchmark
+    public List<SeleniumBindedElement> getBindedElementsWithId() {
+        return _seleniumFormBinder.getBindedElementsWithId(_document, SeleniumBenchmarkPage.FIELD_ID);
+    }
+
+    /**
+     * Get the single binded element with the ID.
+     *
+     * @return the binded element.
+     */
+    @Benchmark
+    public SeleniumBindedElement getBindedElementWithId() {
+        return _seleniumFormBinder.getBindedElementWithId(_document, SeleniumBenchmarkPage.SUBMIT_ID);
+    }
+
+}
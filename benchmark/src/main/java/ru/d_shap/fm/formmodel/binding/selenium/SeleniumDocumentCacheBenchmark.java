@@ -0,0 +1,175 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * The stress benchmark of the document cache with 64 concurrent web driver sessions. All sessions
+ * serve the same pages, so the cached documents differ only by the session. The benchmark fails, if
+ * the document of another session is returned, or if the cache holds more documents, than the
+ * maximum size.
+ *
+ * @author Dmitry Shapovalov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(SeleniumDocumentCacheBenchmark.SESSION_COUNT)
+@Fork(1)
+public class SeleniumDocumentCacheBenchmark {
+
+    static final int SESSION_COUNT = 64;
+
+    private static final int PAGE_COUNT = 8;
+
+    private static final int INVALIDATE_PERIOD = 64;
+
+    /**
+     * The maximum number of the cached documents.
+     */
+    @Param({"16", "100", "1000"})
+    int _documentCacheSize;
+
+    private SeleniumDocumentCache _documentCache;
+
+    /**
+     * Create new object.
+     */
+    public SeleniumDocumentCacheBenchmark() {
+        super();
+    }
+
+    /**
+     * Create the document cache.
+     */
+    @Setup
+    public void setUp() {
+        _documentCache = new SeleniumDocumentCache();
+        _documentCache.setMaxSize(_documentCacheSize);
+    }
+
+    /**
+     * Check the size of the document cache after the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void checkSize() {
+        int size = _documentCache.size();
+        if (size > _documentCacheSize) {
+            throw new IllegalStateException("The document cache holds " + size + " documents, the maximum size is " + _documentCacheSize);
+        }
+    }
+
+    /**
+     * Get the document of the next page from the document cache, or put the document to the document cache.
+     * The documents of the session are invalidated periodically.
+     *
+     * @param session the web driver session of the thread.
+     *
+     * @return the document.
+     */
+    @Benchmark
+    public Document getOrPut(final Session session) {
+        int index = session.nextIndex();
+        int pageIndex = index % PAGE_COUNT;
+        SeleniumPageSnapshot pageSnapshot = session._pageSnapshots[pageIndex];
+        Document document = _documentCache.get(session._webDriver, pageSnapshot);
+        if (document == null) {
+            document = session._documents[pageIndex];
+            _documentCache.put(session._webDriver, pageSnapshot, document);
+        } else if (document != session._documents[pageIndex]) {
+            throw new IllegalStateException("The document of another session is returned");
+        }
+        if (index % INVALIDATE_PERIOD == 0) {
+            _documentCache.invalidate(session._webDriver);
+        }
+        return document;
+    }
+
+    /**
+     * The web driver session of the thread.
+     *
+     * @author Dmitry Shapovalov
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        private SeleniumReplayWebDriver _webDriver;
+
+        private SeleniumPageSnapshot[] _pageSnapshots;
+
+        private Document[] _documents;
+
+        private int _index;
+
+        /**
+         * Create new object.
+         */
+        public Session() {
+            super();
+        }
+
+        /**
+         * Create the replay web driver, the page snapshots and the documents of the session.
+         */
+        @Setup
+        public void setUp() {
+            _webDriver = new SeleniumReplayWebDriver(Collections.<SeleniumReplayPage>emptyList());
+            _pageSnapshots = new SeleniumPageSnapshot[PAGE_COUNT];
+            _documents = new Document[PAGE_COUNT];
+            for (int i = 0; i < PAGE_COUNT; i++) {
+                String html = "<html><body><p>page " + i + "</p></body></html>";
+                _pageSnapshots[i] = new SeleniumPageSnapshot(html, SeleniumBenchmarkPage.BASE_URL, null, null, null);
+                _documents[i] = Jsoup.parse(html, SeleniumBenchmarkPage.BASE_URL);
+            }
+            _index = 0;
+        }
+
+        final int nextIndex() {
+            _index++;
+            return _index;
+        }
+
+    }
+
+}
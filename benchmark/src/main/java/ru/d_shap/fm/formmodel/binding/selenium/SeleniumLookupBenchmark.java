@@ -0,0 +1,145 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * The benchmarks of the lookups with and without the cache of the compiled lookup expressions,
+ * and with and without the index of the binded document.
+ *
+ * @author Dmitry Shapovalov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeleniumLookupBenchmark {
+
+    private static final String SUBMIT_LOOKUP = ".//*[@id='" + SeleniumBenchmarkPage.SUBMIT_ID + "']";
+
+    private static final String ID_ATTRIBUTE = "id";
+
+    /**
+     * The maximum number of the cached lookup expressions, 0 to disable the lookup cache.
+     */
+    @Param({"0", "256"})
+    int _lookupCacheSize;
+
+    /**
+     * True to use the index of the binded document.
+     */
+    @Param({"false", "true"})
+    boolean _documentIndexEnabled;
+
+    /**
+     * The number of the binded elements.
+     */
+    @Param({"10", "1000"})
+    int _elementCount;
+
+    private SeleniumFormBinder _seleniumFormBinder;
+
+    private Document _document;
+
+    /**
+     * Create new object.
+     */
+    public SeleniumLookupBenchmark() {
+        super();
+    }
+
+    /**
+     * Create the page, the replay web driver and the binded document.
+     *
+     * @throws IOException IO exception.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        SeleniumReplayWebDriver webDriver = SeleniumBenchmarkPage.createWebDriver(0, _elementCount);
+        FormDefinitions formDefinitions = SeleniumBenchmarkPage.createFormDefinitions();
+        _seleniumFormBinder = new SeleniumFormBinder(formDefinitions);
+        _seleniumFormBinder.setLookupCacheSize(_lookupCacheSize);
+        _seleniumFormBinder.setDocumentIndexEnabled(_documentIndexEnabled);
+        _document = _seleniumFormBinder.bind(webDriver, SeleniumBenchmarkPage.FORM_ID);
+    }
+
+    /**
+     * Get the elements with the lookup expression.
+     *
+     * @return the elements.
+     */
+    @Benchmark
+    public List<Element> getElements() {
+        return _seleniumFormBinder.getElements(_document, SUBMIT_LOOKUP);
+    }
+
+    /**
+     * Get the binded elements with the lookup expression.
+     *
+     * @return the binded elements.
+     */
+    @Benchmark
+    public List<SeleniumBindedElement> getBindedElements() {
+        return _seleniumFormBinder.getBindedElements(_document, SUBMIT_LOOKUP);
+    }
+
+    /**
+     * Get the binded elements with the ID.
+     *
+     * @return the binded elements.
+     */
+    @Benchmark
+    public List<SeleniumBindedElement> getBindedElementsWithId() {
+        return _seleniumFormBinder.getBindedElementsWithId(_document, SeleniumBenchmarkPage.SUBMIT_ID);
+    }
+
+    /**
+     * Get the binded elements with the attribute value.
+     *
+     * @return the binded elements.
+     */
+    @Benchmark
+    public List<SeleniumBindedElement> getBindedElementsWithAttribute() {
+        return _seleniumFormBinder.getBindedElementsWithAttribute(_document, ID_ATTRIBUTE, SeleniumBenchmarkPage.FIELD_ID);
+    }
+
+}
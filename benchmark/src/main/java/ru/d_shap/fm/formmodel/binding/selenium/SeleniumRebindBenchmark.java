@@ -0,0 +1,142 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * The benchmark of the rebind after the DOM change: the incremental rebind, that patches the previously
+ * parsed document, and the full rebind, that takes and parses the page snapshot. The DOM change is the
+ * cleared value of the first field. The benchmark fails, if the incremental rebind takes the page snapshot
+ * or parses the document.
+ *
+ * @author Dmitry Shapovalov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeleniumRebindBenchmark {
+
+    private static final String FIELD_LOOKUP = "input.field";
+
+    /**
+     * The minimum size of the page in kilobytes.
+     */
+    @Param({"100", "1000"})
+    int _pageSizeInKb;
+
+    /**
+     * The number of the binded elements.
+     */
+    @Param({"10", "1000"})
+    int _elementCount;
+
+    /**
+     * The incremental rebind.
+     */
+    @Param({"false", "true"})
+    boolean _incrementalRebindEnabled;
+
+    private WebElement _webElement;
+
+    private SeleniumFormBinder _seleniumFormBinder;
+
+    private Document _document;
+
+    private long _snapshotCount;
+
+    private long _parseCount;
+
+    /**
+     * Create new object.
+     */
+    public SeleniumRebindBenchmark() {
+        super();
+    }
+
+    /**
+     * Create the page, the replay web driver and the form binder, and bind the form.
+     *
+     * @throws IOException IO exception.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        SeleniumReplayWebDriver webDriver = SeleniumBenchmarkPage.createWebDriver(_pageSizeInKb, _elementCount);
+        _webElement = webDriver.findElement(By.cssSelector(FIELD_LOOKUP));
+        _seleniumFormBinder = new SeleniumFormBinder(SeleniumBenchmarkPage.createFormDefinitions());
+        _seleniumFormBinder.setIncrementalRebindEnabled(_incrementalRebindEnabled);
+        _document = _seleniumFormBinder.bind(webDriver, SeleniumBenchmarkPage.FORM_ID);
+        _snapshotCount = _seleniumFormBinder.getStatistics().getSnapshotCount();
+        _parseCount = _seleniumFormBinder.getStatistics().getParseCount();
+    }
+
+    /**
+     * Check, that the incremental rebind neither took the page snapshot nor parsed the document.
+     */
+    @TearDown(Level.Iteration)
+    public void checkIncrementalRebind() {
+        if (!_incrementalRebindEnabled) {
+            return;
+        }
+        SeleniumFormBinderStatistics statistics = _seleniumFormBinder.getStatistics();
+        if (statistics.getSnapshotCount() != _snapshotCount || statistics.getParseCount() != _parseCount) {
+            throw new IllegalStateException("The incremental rebind took " + (statistics.getSnapshotCount() - _snapshotCount) + " page snapshots and parsed " + (statistics.getParseCount() - _parseCount) + " documents");
+        }
+        if (statistics.getFullRebindCount() != 0L) {
+            throw new IllegalStateException("The incremental rebind fell back to " + statistics.getFullRebindCount() + " full rebinds");
+        }
+    }
+
+    /**
+     * Change the DOM and rebind the form.
+     *
+     * @return the binding result.
+     */
+    @Benchmark
+    public Document rebind() {
+        _webElement.clear();
+        _document = _seleniumFormBinder.rebind(_document);
+        return _document;
+    }
+
+}
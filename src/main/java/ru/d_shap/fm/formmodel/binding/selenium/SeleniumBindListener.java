@@ -0,0 +1,96 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import org.openqa.selenium.WebDriver;
+
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * The listener of the binding events with the timings of the binding phases. The listener is called
+ * by the thread, that performs the binding, so the listener should be thread-safe if the form binder
+ * is shared by many threads. The listener should not throw exceptions.
+ * {@link SeleniumBindListenerAdapter} can be extended to listen only for some events.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface SeleniumBindListener {
+
+    /**
+     * Called before the first bind attempt.
+     *
+     * @param webDriver      the web driver.
+     * @param formDefinition the form definition or the first form definition if many forms are binded.
+     */
+    void bindStarted(WebDriver webDriver, FormDefinition formDefinition);
+
+    /**
+     * Called when the snapshot of the web driver's page is taken.
+     *
+     * @param webDriver       the web driver.
+     * @param length          the length of the serialized DOM in characters.
+     * @param durationInNanos the duration of the snapshot in nanoseconds.
+     */
+    void pageSnapshotTaken(WebDriver webDriver, int length, long durationInNanos);
+
+    /**
+     * Called when the snapshot of the web driver's page is parsed.
+     *
+     * @param webDriver       the web driver.
+     * @param length          the length of the parsed serialized DOM in characters.
+     * @param durationInNanos the duration of the parsing in nanoseconds.
+     */
+    void documentParsed(WebDriver webDriver, int length, long durationInNanos);
+
+    /**
+     * Called when the element definition is binded.
+     *
+     * @param webDriver          the web driver.
+     * @param elementDefinition  the element definition.
+     * @param bindedElementCount the number of the binded elements.
+     * @param durationInNanos    the duration of the lookup in nanoseconds.
+     */
+    void elementDefinitionBinded(WebDriver webDriver, ElementDefinition elementDefinition, int bindedElementCount, long durationInNanos);
+
+    /**
+     * Called after the last bind attempt.
+     *
+     * @param webDriver       the web driver.
+     * @param formDefinition  the form definition or the first form definition if many forms are binded.
+     * @param attemptCount    the number of the bind attempts.
+     * @param waitTimeInNanos the total time in nanoseconds, spent waiting between the bind attempts.
+     * @param durationInNanos the total duration of the binding in nanoseconds.
+     * @param exception       the exception if the binding failed, null otherwise.
+     */
+    void bindFinished(WebDriver webDriver, FormDefinition formDefinition, int attemptCount, long waitTimeInNanos, long durationInNanos, RuntimeException exception);
+
+    /**
+     * Called when the action is performed with the binded element.
+     *
+     * @param webDriver       the web driver.
+     * @param bindedElement   the binded element.
+     * @param elementAction   the action.
+     * @param durationInNanos the duration of the action in nanoseconds, including the stale element retries.
+     * @param exception       the exception if the action failed, null otherwise.
+     */
+    void elementActionPerformed(WebDriver webDriver, SeleniumBindedElement bindedElement, SeleniumElementAction elementAction, long durationInNanos, RuntimeException exception);
+
+}
@@ -0,0 +1,72 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import org.openqa.selenium.WebDriver;
+
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * The binding listener with the empty methods. The form binder uses this listener if no other
+ * listener is set.
+ *
+ * @author Dmitry Shapovalov
+ */
+public class SeleniumBindListenerAdapter implements SeleniumBindListener {
+
+    /**
+     * Create new object.
+     */
+    public SeleniumBindListenerAdapter() {
+        super();
+    }
+
+    @Override
+    public void bindStarted(final WebDriver webDriver, final FormDefinition formDefinition) {
+        // Ignore
+    }
+
+    @Override
+    public void pageSnapshotTaken(final WebDriver webDriver, final int length, final long durationInNanos) {
+        // Ignore
+    }
+
+    @Override
+    public void documentParsed(final WebDriver webDriver, final int length, final long durationInNanos) {
+        // Ignore
+    }
+
+    @Override
+    public void elementDefinitionBinded(final WebDriver webDriver, final ElementDefinition elementDefinition, final int bindedElementCount, final long durationInNanos) {
+        // Ignore
+    }
+
+    @Override
+    public void bindFinished(final WebDriver webDriver, final FormDefinition formDefinition, final int attemptCount, final long waitTimeInNanos, final long durationInNanos, final RuntimeException exception) {
+        // Ignore
+    }
+
+    @Override
+    public void elementActionPerformed(final WebDriver webDriver, final SeleniumBindedElement bindedElement, final SeleniumElementAction elementAction, final long durationInNanos, final RuntimeException exception) {
+        // Ignore
+    }
+
+}
@@ -0,0 +1,101 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared scheduler of the asynchronous bind attempts. The threads of the scheduler are busy only
+ * while the bind attempt is performed, and are free while the bind attempts wait for the page to change.
+ * The bind attempt mostly waits for the responses of the web driver, so the pool is sized for the blocking
+ * I/O rather than for the processors. The idle threads are stopped after the keep alive time.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumBindScheduler {
+
+    private static final String THREAD_NAME_PREFIX = "selenium-form-binder-";
+
+    private static final int THREADS_PER_PROCESSOR = 4;
+
+    private static final int MIN_POOL_SIZE = 8;
+
+    private static final long KEEP_ALIVE_TIME_IN_SECONDS = 60L;
+
+    private SeleniumBindScheduler() {
+        super();
+    }
+
+    static ScheduledExecutorService getDefaultScheduledExecutorService() {
+        return DefaultScheduledExecutorServiceHolder.INSTANCE;
+    }
+
+    /**
+     * The holder of the lazily created default executor service.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DefaultScheduledExecutorServiceHolder {
+
+        static final ScheduledExecutorService INSTANCE = createScheduledExecutorService();
+
+        private DefaultScheduledExecutorServiceHolder() {
+            super();
+        }
+
+        private static ScheduledExecutorService createScheduledExecutorService() {
+            int poolSize = Math.max(Runtime.getRuntime().availableProcessors() * THREADS_PER_PROCESSOR, MIN_POOL_SIZE);
+            ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(poolSize, new DaemonThreadFactory());
+            scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+            scheduledThreadPoolExecutor.setKeepAliveTime(KEEP_ALIVE_TIME_IN_SECONDS, TimeUnit.SECONDS);
+            scheduledThreadPoolExecutor.allowCoreThreadTimeOut(true);
+            return scheduledThreadPoolExecutor;
+        }
+
+    }
+
+    /**
+     * The factory of the daemon threads, so the default executor service does not prevent the JVM from exit.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger _threadNumber;
+
+        DaemonThreadFactory() {
+            super();
+            _threadNumber = new AtomicInteger();
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + _threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
@@ -19,36 +19,93 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding.selenium;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.jsoup.nodes.Element;
-import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import ru.d_shap.fm.formmodel.binding.html.HtmlBindedElement;
 
 /**
- * The Selenium binded element implementation.
+ * The Selenium binded element implementation. The binded element can be safely published to other threads:
+ * the web element is resolved lazily, and every thread sees the resolved web element. The concurrent
+ * resolution can find the web element more than once, but all threads get the equivalent web element.
+ * The stale web element is cleared only if no other thread has already replaced it.
+ * If the binded element is inside the frame, then the web driver is switched to this frame before
+ * the web element is used. If the binded element is inside the shadow root, then the web element is resolved
+ * by the shadow path. The location of the web element (the CSS selector, the frame path and the shadow path)
+ * is computed on the first use, and the concurrent computation gives the equivalent locations.
+ * The web driver itself is not thread-safe, so the actions with the binded elements of the same web driver
+ * should not be performed concurrently.
  *
  * @author Dmitry Shapovalov
  */
 final class SeleniumBindedElementImpl implements SeleniumBindedElement {
 
+    private static final AtomicReferenceFieldUpdater<SeleniumBindedElementImpl, WebElement> WEB_ELEMENT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(SeleniumBindedElementImpl.class, WebElement.class, "_webElement");
+
     private final WebDriver _webDriver;
 
     private final HtmlBindedElement _htmlBindedElement;
 
-    private final String _cssSelector;
+    private final SeleniumFormBinderContext _context;
+
+    private final String _markerGeneration;
+
+    private final String _frameLookup;
+
+    private final boolean _shadowRootsIncluded;
 
-    private WebElement _webElement;
+    private volatile ElementLocation _elementLocation;
 
-    SeleniumBindedElementImpl(final WebDriver webDriver, final HtmlBindedElement htmlBindedElement) {
+    private volatile WebElement _webElement;
+
+    SeleniumBindedElementImpl(final WebDriver webDriver, final HtmlBindedElement htmlBindedElement, final SeleniumFormBinderContext context, final String markerGeneration, final String frameLookup, final boolean shadowRootsIncluded) {
         super();
         _webDriver = webDriver;
         _htmlBindedElement = htmlBindedElement;
-        _cssSelector = _htmlBindedElement.cssSelector();
+        _context = context;
+        _markerGeneration = markerGeneration;
+        _frameLookup = frameLookup;
+        _shadowRootsIncluded = shadowRootsIncluded;
+        _elementLocation = null;
         _webElement = null;
     }
 
+    private ElementLocation getElementLocation() {
+        ElementLocation elementLocation = _elementLocation;
+        if (elementLocation == null) {
+            elementLocation = createElementLocation();
+            _elementLocation = elementLocation;
+        }
+        return elementLocation;
+    }
+
+    private ElementLocation createElementLocation() {
+        Element element = _htmlBindedElement.getElement();
+        SeleniumFramePath framePath = SeleniumFramePath.create(element, _frameLookup);
+        String cssSelector;
+        String markerGeneration;
+        if (framePath == null || framePath.isTopLevel()) {
+            cssSelector = _htmlBindedElement.cssSelector();
+            markerGeneration = _markerGeneration;
+        } else {
+            cssSelector = SeleniumFramePath.getCssSelector(element, element.cssSelector());
+            markerGeneration = null;
+        }
+        List<Object> shadowPath;
+        if (_shadowRootsIncluded) {
+            shadowPath = SeleniumShadowPath.create(element);
+        } else {
+            shadowPath = null;
+        }
+        return new ElementLocation(cssSelector, markerGeneration, framePath, shadowPath);
+    }
+
     @Override
     public Element getElement() {
         return _htmlBindedElement.getElement();
@@ -56,7 +113,7 @@ final class SeleniumBindedElementImpl implements SeleniumBindedElement {
 
     @Override
     public String cssSelector() {
-        return _cssSelector;
+        return getElementLocation()._cssSelector;
     }
 
     @Override
@@ -91,30 +148,215 @@ final class SeleniumBindedElementImpl implements SeleniumBindedElement {
 
     @Override
     public WebElement getWebElement() {
-        if (_webElement == null) {
-            _webElement = _webDriver.findElement(By.cssSelector(_cssSelector));
+        switchToFrame();
+        return resolveWebElement();
+    }
+
+    /**
+     * Get the web element in the current browsing context of the web driver.
+     *
+     * @return the web element.
+     */
+    WebElement resolveWebElement() {
+        WebElement webElement = _webElement;
+        if (webElement == null) {
+            ElementLocation elementLocation = getElementLocation();
+            webElement = SeleniumWebElementResolver.resolveWebElement(_webDriver, elementLocation._cssSelector, getMarker(), elementLocation._shadowPath);
+            _webElement = webElement;
         }
-        return _webElement;
+        return webElement;
+    }
+
+    /**
+     * Get the marker of the web element, registered in the web driver's page by the page snapshot.
+     *
+     * @return the marker generation and the marker index or null if the element is not marked.
+     */
+    List<Object> getMarker() {
+        String markerGeneration = getElementLocation()._markerGeneration;
+        if (markerGeneration == null) {
+            return null;
+        }
+        String marker = getElement().attr(SeleniumBindingSourceImpl.MARKER_ATTRIBUTE);
+        if (marker.isEmpty()) {
+            return null;
+        }
+        try {
+            return Arrays.<Object>asList(markerGeneration, Long.valueOf(marker));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    List<Object> getShadowPath() {
+        return getElementLocation()._shadowPath;
+    }
+
+    SeleniumFramePath getFramePath() {
+        return getElementLocation()._framePath;
+    }
+
+    /**
+     * Switch the web driver to the frame of the web element, if the web driver is in another frame. The
+     * web driver stays in this frame.
+     */
+    void switchToFrame() {
+        SeleniumFramePath framePath = getElementLocation()._framePath;
+        if (framePath != null) {
+            framePath.switchTo(_webDriver);
+        }
+    }
+
+    boolean isWebElementResolved() {
+        return _webElement != null;
+    }
+
+    void setWebElement(final WebElement webElement) {
+        _webElement = webElement;
+    }
+
+    void clearStaleWebElement(final WebElement staleWebElement) {
+        WEB_ELEMENT_UPDATER.compareAndSet(this, staleWebElement, null);
     }
 
     @Override
     public void click() {
-        getWebElement().click();
+        performAction(WebElementAction.CLICK, null);
     }
 
     @Override
     public void clear() {
-        getWebElement().clear();
+        performAction(WebElementAction.CLEAR, null);
     }
 
     @Override
     public void sendKeys(final CharSequence charSequence) {
-        getWebElement().sendKeys(charSequence);
+        performAction(WebElementAction.SEND_KEYS, charSequence);
     }
 
     @Override
     public void submit() {
-        getWebElement().submit();
+        performAction(WebElementAction.SUBMIT, null);
+    }
+
+    private void performAction(final WebElementAction webElementAction, final CharSequence charSequence) {
+        long startTimeNanos = System.nanoTime();
+        try {
+            performActionWithRetry(webElementAction, charSequence);
+            _context.getBindListener().elementActionPerformed(_webDriver, this, webElementAction.getElementAction(), System.nanoTime() - startTimeNanos, null);
+        } catch (RuntimeException ex) {
+            _context.getBindListener().elementActionPerformed(_webDriver, this, webElementAction.getElementAction(), System.nanoTime() - startTimeNanos, ex);
+            throw ex;
+        } finally {
+            _context.getDocumentCache().invalidate(_webDriver);
+        }
+    }
+
+    private void performActionWithRetry(final WebElementAction webElementAction, final CharSequence charSequence) {
+        int retryCount = 0;
+        while (true) {
+            WebElement webElement = getRetriedWebElement(retryCount);
+            try {
+                webElementAction.perform(webElement, charSequence);
+                return;
+            } catch (StaleElementReferenceException ex) {
+                if (retryCount >= _context.getStaleElementRetryCount()) {
+                    _context.getStatistics().incrementStaleElementFailureCount();
+                    throw ex;
+                }
+                retryCount++;
+                clearStaleWebElement(webElement);
+            }
+        }
+    }
+
+    private WebElement getRetriedWebElement(final int retryCount) {
+        if (retryCount == 0) {
+            return getWebElement();
+        }
+        WebElement webElement;
+        try {
+            webElement = getWebElement();
+        } catch (RuntimeException ex) {
+            _context.getStatistics().incrementStaleElementFailureCount();
+            throw ex;
+        }
+        _context.getStatistics().incrementStaleElementRecoveryCount();
+        return webElement;
+    }
+
+    /**
+     * The location of the web element in the web driver's page.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ElementLocation {
+
+        private final String _cssSelector;
+
+        private final String _markerGeneration;
+
+        private final SeleniumFramePath _framePath;
+
+        private final List<Object> _shadowPath;
+
+        ElementLocation(final String cssSelector, final String markerGeneration, final SeleniumFramePath framePath, final List<Object> shadowPath) {
+            super();
+            _cssSelector = cssSelector;
+            _markerGeneration = markerGeneration;
+            _framePath = framePath;
+            _shadowPath = shadowPath;
+        }
+
+    }
+
+    /**
+     * The action on the web element.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private enum WebElementAction {
+
+        CLICK(SeleniumElementAction.CLICK) {
+            @Override
+            void perform(final WebElement webElement, final CharSequence charSequence) {
+                webElement.click();
+            }
+        },
+
+        CLEAR(SeleniumElementAction.CLEAR) {
+            @Override
+            void perform(final WebElement webElement, final CharSequence charSequence) {
+                webElement.clear();
+            }
+        },
+
+        SEND_KEYS(SeleniumElementAction.SEND_KEYS) {
+            @Override
+            void perform(final WebElement webElement, final CharSequence charSequence) {
+                webElement.sendKeys(charSequence);
+            }
+        },
+
+        SUBMIT(SeleniumElementAction.SUBMIT) {
+            @Override
+            void perform(final WebElement webElement, final CharSequence charSequence) {
+                webElement.submit();
+            }
+        };
+
+        private final SeleniumElementAction _elementAction;
+
+        WebElementAction(final SeleniumElementAction elementAction) {
+            _elementAction = elementAction;
+        }
+
+        SeleniumElementAction getElementAction() {
+            return _elementAction;
+        }
+
+        abstract void perform(WebElement webElement, CharSequence charSequence);
+
     }
 
 }
@@ -19,10 +19,18 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding.selenium;
 
+import java.io.IOException;
+import java.util.Map;
+
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.binding.FormBindingException;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
 
 /**
  * The Selenium binding source implementation.
@@ -31,18 +39,332 @@ import org.openqa.selenium.WebDriver;
  */
 final class SeleniumBindingSourceImpl implements SeleniumBindingSource {
 
+    static final String MARKER_ATTRIBUTE = "data-fm-marker";
+
+    private static final String SNAPSHOT_SCRIPT = "/* fm:snapshot */"
+        + "var root = document.documentElement;"
+        + "var marker = arguments[1];"
+        + "var frameLookup = arguments[2];"
+        + "var shadowRoots = arguments[3];"
+        + "var trackChanges = arguments[4];"
+        + "var markers = marker ? {generation: Date.now().toString(36) + Math.random().toString(36).substring(2), elements: []} : null;"
+        + "var register = function (original, copy) {"
+        + "    if (markers) {"
+        + "        copy.setAttribute(marker, markers.elements.length);"
+        + "        markers.elements.push(original);"
+        + "    }"
+        + "};"
+        + "var copyShadowRoot = function (original, copy) {"
+        + "    var shadowRoot = original.shadowRoot;"
+        + "    if (shadowRoot) {"
+        + "        var shadowRootCopy = document.createElement('fm-shadow-root');"
+        + "        for (var child = shadowRoot.firstChild; child; child = child.nextSibling) {"
+        + "            var childCopy = child.cloneNode(true);"
+        + "            shadowRootCopy.appendChild(childCopy);"
+        + "            if (child.nodeType === 1) {"
+        + "                mark(child, childCopy, true);"
+        + "            }"
+        + "        }"
+        + "        copy.appendChild(shadowRootCopy);"
+        + "    }"
+        + "};"
+        + "var mark = function (original, copy, deep) {"
+        + "    register(original, copy);"
+        + "    if (deep) {"
+        + "        var originals = Array.prototype.slice.call(original.getElementsByTagName('*'));"
+        + "        var copies = Array.prototype.slice.call(copy.getElementsByTagName('*'));"
+        + "        for (var k = 0; k < originals.length && k < copies.length; k++) {"
+        + "            register(originals[k], copies[k]);"
+        + "        }"
+        + "        if (shadowRoots) {"
+        + "            copyShadowRoot(original, copy);"
+        + "            for (var s = 0; s < originals.length && s < copies.length; s++) {"
+        + "                copyShadowRoot(originals[s], copies[s]);"
+        + "            }"
+        + "        }"
+        + "    }"
+        + "};"
+        + "var serializeFrames = function (parentDocument) {"
+        + "    var framesHtml = '';"
+        + "    var frames = [];"
+        + "    try {"
+        + "        frames = parentDocument.querySelectorAll(frameLookup);"
+        + "    } catch (e) {"
+        + "        frames = [];"
+        + "    }"
+        + "    for (var f = 0; f < frames.length; f++) {"
+        + "        var frameDocument = null;"
+        + "        try {"
+        + "            frameDocument = frames[f].contentDocument;"
+        + "        } catch (e) {"
+        + "            frameDocument = null;"
+        + "        }"
+        + "        if (frameDocument && frameDocument.documentElement) {"
+        + "            var frameBody = frameDocument.body ? frameDocument.body.innerHTML : '';"
+        + "            framesHtml += '<fm-frame data-fm-frame=\"' + f + '\">' + frameBody + serializeFrames(frameDocument) + '</fm-frame>';"
+        + "        }"
+        + "    }"
+        + "    return framesHtml;"
+        + "};"
+        + "var html = null;"
+        + "if (arguments[0]) {"
+        + "    var roots = [];"
+        + "    try {"
+        + "        roots = document.querySelectorAll(arguments[0]);"
+        + "    } catch (e) {"
+        + "        roots = [root];"
+        + "    }"
+        + "    var copies = new Map();"
+        + "    var expanded = new Set();"
+        + "    var copied = new Set();"
+        + "    copies.set(root, root.cloneNode(false));"
+        + "    mark(root, copies.get(root), false);"
+        + "    for (var i = 0; i < roots.length && !copied.has(root); i++) {"
+        + "        var path = [];"
+        + "        for (var node = roots[i]; node && node !== root; node = node.parentElement) {"
+        + "            path.unshift(node);"
+        + "        }"
+        + "        var parent = root;"
+        + "        for (var j = 0; j < path.length && !copied.has(parent); j++) {"
+        + "            if (!expanded.has(parent)) {"
+        + "                for (var child = parent.firstElementChild; child; child = child.nextElementSibling) {"
+        + "                    var childCopy = child.cloneNode(false);"
+        + "                    mark(child, childCopy, false);"
+        + "                    copies.set(child, childCopy);"
+        + "                    copies.get(parent).appendChild(childCopy);"
+        + "                }"
+        + "                expanded.add(parent);"
+        + "            }"
+        + "            parent = path[j];"
+        + "        }"
+        + "        if (!copied.has(parent)) {"
+        + "            var shallowCopy = copies.get(parent);"
+        + "            var deepCopy = parent.cloneNode(true);"
+        + "            mark(parent, deepCopy, true);"
+        + "            if (shallowCopy.parentNode) {"
+        + "                shallowCopy.parentNode.replaceChild(deepCopy, shallowCopy);"
+        + "            }"
+        + "            copies.set(parent, deepCopy);"
+        + "            copied.add(parent);"
+        + "        }"
+        + "    }"
+        + "    html = copies.get(root).outerHTML;"
+        + "} else if (markers || shadowRoots) {"
+        + "    var rootCopy = root.cloneNode(true);"
+        + "    mark(root, rootCopy, true);"
+        + "    html = rootCopy.outerHTML;"
+        + "} else {"
+        + "    html = root.outerHTML;"
+        + "}"
+        + "if (document.doctype) {"
+        + "    html = new XMLSerializer().serializeToString(document.doctype) + html;"
+        + "}"
+        + "if (frameLookup) {"
+        + "    html += serializeFrames(document);"
+        + "}"
+        + "var generation = null;"
+        + "if (markers) {"
+        + "    window.__fmMarkers = markers;"
+        + "    generation = markers.generation;"
+        + "}"
+        + "var changeGeneration = null;"
+        + "if (trackChanges && window.MutationObserver) {"
+        + "    var tracker = window.__fmChanges;"
+        + "    if (!tracker) {"
+        + "        tracker = {changeSets: new Map(), observer: null};"
+        + "        tracker.collect = function (records) {"
+        + "            tracker.changeSets.forEach(function (changeSet) {"
+        + "                for (var r = 0; r < records.length && !changeSet.overflow; r++) {"
+        + "                    var target = records[r].target;"
+        + "                    if (records[r].type === 'attributes') {"
+        + "                        changeSet.attributes.add(target);"
+        + "                    } else {"
+        + "                        var element = target.nodeType === 1 ? target : target.parentElement;"
+        + "                        if (element) {"
+        + "                            changeSet.subtrees.add(element);"
+        + "                        } else {"
+        + "                            changeSet.overflow = true;"
+        + "                        }"
+        + "                    }"
+        + "                    if (changeSet.subtrees.size + changeSet.attributes.size > 1000) {"
+        + "                        changeSet.overflow = true;"
+        + "                    }"
+        + "                }"
+        + "                if (changeSet.overflow) {"
+        + "                    changeSet.subtrees.clear();"
+        + "                    changeSet.attributes.clear();"
+        + "                }"
+        + "            });"
+        + "        };"
+        + "        tracker.add = function () {"
+        + "            tracker.collect(tracker.observer.takeRecords());"
+        + "            var changeSet = {generation: Date.now().toString(36) + Math.random().toString(36).substring(2), subtrees: new Set(), attributes: new Set(), overflow: false};"
+        + "            tracker.changeSets.set(changeSet.generation, changeSet);"
+        + "            if (tracker.changeSets.size > 32) {"
+        + "                tracker.changeSets.delete(tracker.changeSets.keys().next().value);"
+        + "            }"
+        + "            return changeSet.generation;"
+        + "        };"
+        + "        tracker.observer = new MutationObserver(tracker.collect);"
+        + "        tracker.observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+        + "        window.__fmChanges = tracker;"
+        + "    }"
+        + "    changeGeneration = tracker.add();"
+        + "}"
+        + "return {html: html, baseUrl: document.location.href, readyState: document.readyState, markerGeneration: generation, changeGeneration: changeGeneration};";
+
+    private static final String COMPRESSED_SNAPSHOT_SCRIPT = "/* fm:compressed-snapshot */"
+        + "var callback = arguments[arguments.length - 1];"
+        + "var snapshot = (function () {"
+        + SNAPSHOT_SCRIPT
+        + "}).apply(this, arguments);"
+        + "var minLength = arguments[5];"
+        + "if (!window.CompressionStream || !window.Response || !window.Blob || !snapshot.html || snapshot.html.length < minLength) {"
+        + "    callback(snapshot);"
+        + "    return;"
+        + "}"
+        + "try {"
+        + "    var stream = new Blob([snapshot.html]).stream().pipeThrough(new CompressionStream('gzip'));"
+        + "    new Response(stream).arrayBuffer().then(function (buffer) {"
+        + "        var bytes = new Uint8Array(buffer);"
+        + "        var chunks = [];"
+        + "        for (var i = 0; i < bytes.length; i += 32768) {"
+        + "            chunks.push(String.fromCharCode.apply(null, bytes.subarray(i, i + 32768)));"
+        + "        }"
+        + "        snapshot.htmlLength = snapshot.html.length;"
+        + "        snapshot.compressedHtml = btoa(chunks.join(''));"
+        + "        snapshot.html = null;"
+        + "        callback(snapshot);"
+        + "    }, function () {"
+        + "        callback(snapshot);"
+        + "    });"
+        + "} catch (e) {"
+        + "    callback(snapshot);"
+        + "}";
+
+    private static final String BASE_URL_SCRIPT = "/* fm:base-url */ return document.location.href";
+
+    private static final String HTML_KEY = "html";
+
+    private static final String COMPRESSED_HTML_KEY = "compressedHtml";
+
+    private static final String HTML_LENGTH_KEY = "htmlLength";
+
+    private static final int COMPRESSION_MIN_LENGTH = 16 * 1024;
+
+    private static final String BASE_URL_KEY = "baseUrl";
+
+    private static final String READY_STATE_KEY = "readyState";
+
+    private static final String MARKER_GENERATION_KEY = "markerGeneration";
+
+    private static final String CHANGE_GENERATION_KEY = "changeGeneration";
+
     private final WebDriver _webDriver;
 
-    SeleniumBindingSourceImpl(final WebDriver webDriver) {
+    private final SeleniumFormBinderContext _context;
+
+    private final SeleniumFormBinderStatistics _statistics;
+
+    private final String _rootLookup;
+
+    private final SeleniumPageSignature _pageSignature;
+
+    private final FormDefinition _formDefinition;
+
+    private final String _frameLookup;
+
+    private final boolean _shadowRootsIncluded;
+
+    private final boolean _changesTracked;
+
+    private boolean _snapshotScriptSupported;
+
+    private boolean _compressedTransferSupported;
+
+    private boolean _topLevelContextSelected;
+
+    private SeleniumPageSnapshot _pageSnapshot;
+
+    private Document _document;
+
+    private boolean _pageLoading;
+
+    private String _markerGeneration;
+
+    private String _changeGeneration;
+
+    SeleniumBindingSourceImpl(final WebDriver webDriver, final SeleniumFormBinderContext context, final String rootLookup) {
+        this(webDriver, context, rootLookup, null, null);
+    }
+
+    SeleniumBindingSourceImpl(final WebDriver webDriver, final SeleniumFormBinderContext context, final String rootLookup, final SeleniumPageSignature pageSignature, final FormDefinition formDefinition) {
         super();
         _webDriver = webDriver;
+        _context = context;
+        _statistics = context.getStatistics();
+        _rootLookup = rootLookup;
+        _pageSignature = pageSignature;
+        _formDefinition = formDefinition;
+        _frameLookup = context.getFrameLookup();
+        _shadowRootsIncluded = context.isShadowRootSnapshotEnabled();
+        _changesTracked = context.isIncrementalRebindEnabled() && rootLookup == null && _frameLookup == null && !_shadowRootsIncluded;
+        _snapshotScriptSupported = webDriver instanceof JavascriptExecutor;
+        _compressedTransferSupported = _snapshotScriptSupported && context.isCompressedTransferEnabled();
+        _topLevelContextSelected = _frameLookup == null;
+        _pageSnapshot = null;
+        _document = null;
+        _pageLoading = false;
+        _markerGeneration = null;
+        _changeGeneration = null;
     }
 
     @Override
     public Document getDocument() {
-        String html = _webDriver.getPageSource();
-        String baseUrl = (String) ((JavascriptExecutor) _webDriver).executeScript("return document.location.href");
-        return Jsoup.parse(html, baseUrl);
+        if (_pageSnapshot == null && _document == null) {
+            nextPageSnapshot();
+        }
+        if (_document == null) {
+            _document = getCachedDocument();
+        }
+        if (_document == null) {
+            checkPageSignature();
+            long startTimeNanos = System.nanoTime();
+            _document = Jsoup.parse(_pageSnapshot.getHtml(), _pageSnapshot.getBaseUrl());
+            _context.getBindListener().documentParsed(_webDriver, _pageSnapshot.getHtmlLength(), System.nanoTime() - startTimeNanos);
+            _statistics.incrementParseCount();
+            putCachedDocument(_document);
+        }
+        return _document;
+    }
+
+    private void checkPageSignature() {
+        if (_pageSignature != null && !_pageSignature.matches(_pageSnapshot.getHtml())) {
+            _statistics.incrementPreCheckRejectionCount();
+            throw new FormBindingException(Messages.Binding.getFormIsNotPresentMessage(_formDefinition));
+        }
+    }
+
+    private Document getCachedDocument() {
+        SeleniumDocumentCache documentCache = _context.getDocumentCache();
+        if (documentCache.isEnabled()) {
+            Document document = documentCache.get(_webDriver, _pageSnapshot);
+            if (document == null) {
+                _statistics.incrementDocumentCacheMissCount();
+            } else {
+                _statistics.incrementDocumentCacheHitCount();
+            }
+            return document;
+        } else {
+            return null;
+        }
+    }
+
+    private void putCachedDocument(final Document document) {
+        SeleniumDocumentCache documentCache = _context.getDocumentCache();
+        if (documentCache.isEnabled()) {
+            documentCache.put(_webDriver, _pageSnapshot, document);
+        }
     }
 
     @Override
@@ -50,4 +372,200 @@ final class SeleniumBindingSourceImpl implements SeleniumBindingSource {
         return _webDriver;
     }
 
+    SeleniumFormBinderContext getContext() {
+        return _context;
+    }
+
+    /**
+     * Check if the document was still loading, when the last page snapshot was taken.
+     *
+     * @return true if the document was still loading.
+     */
+    boolean isPageLoading() {
+        return _pageLoading;
+    }
+
+    /**
+     * Get the generation of the element markers, registered in the page by the last page snapshot.
+     * The marker generation changes with every page snapshot, even if the page did not change.
+     *
+     * @return the generation of the element markers or null if the elements are not marked.
+     */
+    String getMarkerGeneration() {
+        return _markerGeneration;
+    }
+
+    /**
+     * Get the generation of the DOM changes, tracked in the page since the last page snapshot or
+     * the last changed document.
+     *
+     * @return the generation of the DOM changes or null if the DOM changes are not tracked.
+     */
+    String getChangeGeneration() {
+        return _changeGeneration;
+    }
+
+    /**
+     * Use the specified document, changed with the DOM changes of the specified generation, before
+     * the next page snapshot is taken. The first bind attempt uses the specified document without
+     * taking the page snapshot.
+     *
+     * @param document         the specified document.
+     * @param changeGeneration the generation of the DOM changes.
+     */
+    void setChangedDocument(final Document document, final String changeGeneration) {
+        _document = document;
+        _changeGeneration = changeGeneration;
+    }
+
+    /**
+     * Check if the changed document is set, and no page snapshot is taken yet, so the first bind attempt
+     * should use the changed document instead of the next page snapshot.
+     *
+     * @return true if the changed document is set.
+     */
+    boolean hasChangedDocument() {
+        return _pageSnapshot == null && _document != null;
+    }
+
+    /**
+     * Get the CSS selector of the frames, added to the page snapshots.
+     *
+     * @return the CSS selector of the frames or null if the frames are not added.
+     */
+    String getFrameLookup() {
+        return _frameLookup;
+    }
+
+    /**
+     * Check if the content of the open shadow roots is added to the page snapshots.
+     *
+     * @return true if the content of the open shadow roots is added.
+     */
+    boolean isShadowRootsIncluded() {
+        return _shadowRootsIncluded;
+    }
+
+    /**
+     * Take the next page snapshot. The document, parsed from the previous page snapshot, is reused
+     * if the page did not change.
+     *
+     * @return true if the page changed since the previous page snapshot.
+     */
+    boolean nextPageSnapshot() {
+        long startTimeNanos = System.nanoTime();
+        SeleniumPageSnapshot pageSnapshot = takePageSnapshot();
+        _context.getBindListener().pageSnapshotTaken(_webDriver, pageSnapshot.getHtmlLength(), System.nanoTime() - startTimeNanos);
+        _statistics.incrementSnapshotCount();
+        _pageLoading = pageSnapshot.isLoading();
+        _markerGeneration = pageSnapshot.getMarkerGeneration();
+        _changeGeneration = pageSnapshot.getChangeGeneration();
+        if (pageSnapshot.hasSameContent(_pageSnapshot)) {
+            _statistics.incrementSkippedParseCount();
+            return false;
+        } else {
+            _pageSnapshot = pageSnapshot;
+            _document = null;
+            return true;
+        }
+    }
+
+    private SeleniumPageSnapshot takePageSnapshot() {
+        if (!_topLevelContextSelected) {
+            _webDriver.switchTo().defaultContent();
+            _topLevelContextSelected = true;
+        }
+        if (_snapshotScriptSupported) {
+            SeleniumPageSnapshot pageSnapshot = takeScriptPageSnapshot();
+            if (pageSnapshot == null) {
+                _snapshotScriptSupported = false;
+            } else {
+                return pageSnapshot;
+            }
+        }
+        return takeFallbackPageSnapshot();
+    }
+
+    private SeleniumPageSnapshot takeScriptPageSnapshot() {
+        String markerAttribute;
+        if (_context.isMarkerSnapshotEnabled()) {
+            markerAttribute = MARKER_ATTRIBUTE;
+        } else {
+            markerAttribute = null;
+        }
+        Object[] arguments = {_rootLookup, markerAttribute, _frameLookup, _shadowRootsIncluded, _changesTracked, COMPRESSION_MIN_LENGTH};
+        if (_compressedTransferSupported) {
+            SeleniumPageSnapshot pageSnapshot;
+            try {
+                pageSnapshot = createPageSnapshot(((JavascriptExecutor) _webDriver).executeAsyncScript(COMPRESSED_SNAPSHOT_SCRIPT, arguments));
+            } catch (WebDriverException ex) {
+                pageSnapshot = null;
+            }
+            if (pageSnapshot == null) {
+                _compressedTransferSupported = false;
+            } else {
+                return pageSnapshot;
+            }
+        }
+        try {
+            return createPageSnapshot(((JavascriptExecutor) _webDriver).executeScript(SNAPSHOT_SCRIPT, arguments));
+        } catch (WebDriverException ex) {
+            return null;
+        }
+    }
+
+    private SeleniumPageSnapshot createPageSnapshot(final Object result) {
+        if (result instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) result;
+            Object html = map.get(HTML_KEY);
+            Object compressedHtml = map.get(COMPRESSED_HTML_KEY);
+            Object htmlLength = map.get(HTML_LENGTH_KEY);
+            Object baseUrl = map.get(BASE_URL_KEY);
+            if (html instanceof String && baseUrl instanceof String) {
+                return new SeleniumPageSnapshot((String) html, (String) baseUrl, getString(map, READY_STATE_KEY), getString(map, MARKER_GENERATION_KEY), getString(map, CHANGE_GENERATION_KEY));
+            }
+            if (compressedHtml instanceof String && htmlLength instanceof Number && baseUrl instanceof String) {
+                String decompressedHtml = decompress((String) compressedHtml, ((Number) htmlLength).intValue());
+                if (decompressedHtml == null) {
+                    return null;
+                }
+                SeleniumPageSnapshot pageSnapshot = new SeleniumPageSnapshot(decompressedHtml, (String) compressedHtml, (String) baseUrl, getString(map, READY_STATE_KEY), getString(map, MARKER_GENERATION_KEY), getString(map, CHANGE_GENERATION_KEY));
+                _statistics.addCompressedSnapshot(pageSnapshot.getHtmlLength(), pageSnapshot.getContentLength());
+                return pageSnapshot;
+            }
+        }
+        return null;
+    }
+
+    private String decompress(final String compressedHtml, final int htmlLength) {
+        if (_pageSnapshot != null && _pageSnapshot.hasCompressedHtml(compressedHtml)) {
+            return _pageSnapshot.getHtml();
+        }
+        try {
+            return SeleniumCompressedHtml.decompress(compressedHtml, htmlLength);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private String getString(final Map<?, ?> map, final String key) {
+        Object value = map.get(key);
+        if (value instanceof String) {
+            return (String) value;
+        } else {
+            return null;
+        }
+    }
+
+    private SeleniumPageSnapshot takeFallbackPageSnapshot() {
+        String html = _webDriver.getPageSource();
+        String baseUrl;
+        if (_webDriver instanceof JavascriptExecutor) {
+            baseUrl = (String) ((JavascriptExecutor) _webDriver).executeScript(BASE_URL_SCRIPT);
+        } else {
+            baseUrl = _webDriver.getCurrentUrl();
+        }
+        return new SeleniumPageSnapshot(html, baseUrl, null, null, null);
+    }
+
 }
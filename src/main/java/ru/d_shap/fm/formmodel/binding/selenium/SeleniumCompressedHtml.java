@@ -0,0 +1,135 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The serialized DOM, compressed with gzip in the browser and encoded with base64. The serialized DOM
+ * is decompressed, when the page snapshot is taken, so the corrupted content is detected before the
+ * page snapshot is used.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumCompressedHtml {
+
+    private static final String CHARSET_NAME = "UTF-8";
+
+    private static final int[] BASE64_VALUES = createBase64Values();
+
+    private static final char BASE64_PADDING = '=';
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private SeleniumCompressedHtml() {
+        super();
+    }
+
+    private static int[] createBase64Values() {
+        int[] values = new int[128];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -1;
+        }
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            values[alphabet.charAt(i)] = i;
+        }
+        return values;
+    }
+
+    /**
+     * Decompress the specified compressed serialized DOM.
+     *
+     * @param compressedHtml the specified compressed serialized DOM.
+     * @param htmlLength     the length of the serialized DOM, reported by the browser.
+     *
+     * @return the serialized DOM.
+     *
+     * @throws IOException if the specified compressed serialized DOM can not be decompressed.
+     */
+    static String decompress(final String compressedHtml, final int htmlLength) throws IOException {
+        if (htmlLength < 0) {
+            throw new IOException("Invalid length: " + htmlLength);
+        }
+        byte[] bytes = decodeBase64(compressedHtml);
+        StringBuilder html = new StringBuilder(htmlLength);
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(bytes)), CHARSET_NAME)) {
+            char[] buffer = new char[BUFFER_SIZE];
+            int count = reader.read(buffer);
+            while (count >= 0) {
+                html.append(buffer, 0, count);
+                count = reader.read(buffer);
+            }
+        }
+        if (html.length() != htmlLength) {
+            throw new IOException("Invalid decompressed length: " + html.length() + ", expected: " + htmlLength);
+        }
+        return html.toString();
+    }
+
+    /**
+     * Decode the specified base64 string.
+     *
+     * @param base64 the specified base64 string.
+     *
+     * @return the decoded bytes.
+     *
+     * @throws IOException if the specified string is not a valid base64 string.
+     */
+    static byte[] decodeBase64(final String base64) throws IOException {
+        int length = base64.length();
+        while (length > 0 && base64.charAt(length - 1) == BASE64_PADDING) {
+            length--;
+        }
+        if (length % 4 == 1 || base64.length() % 4 != 0 || base64.length() - length > 2) {
+            throw new IOException("Invalid base64 length: " + base64.length());
+        }
+        byte[] bytes = new byte[length * 3 / 4];
+        int buffer = 0;
+        int bufferBits = 0;
+        int index = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = base64.charAt(i);
+            int value;
+            if (ch < BASE64_VALUES.length) {
+                value = BASE64_VALUES[ch];
+            } else {
+                value = -1;
+            }
+            if (value < 0) {
+                throw new IOException("Invalid base64 character at " + i);
+            }
+            buffer = buffer << 6 | value;
+            bufferBits += 6;
+            if (bufferBits >= 8) {
+                bufferBits -= 8;
+                bytes[index] = (byte) (buffer >> bufferBits);
+                index++;
+                buffer &= (1 << bufferBits) - 1;
+            }
+        }
+        return bytes;
+    }
+
+}
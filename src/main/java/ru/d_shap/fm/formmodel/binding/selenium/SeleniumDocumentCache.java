@@ -0,0 +1,274 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+/**
+ * Selenium document cache. Contains the documents, parsed from the page snapshots, with the least recently used
+ * eviction. The documents are identified by the web driver's session, the page URL and the page snapshot fingerprint.
+ * The session of the remote web driver is identified by the session ID, the session of other web drivers is
+ * identified by the weakly referenced web driver, so the cache never keeps the web driver from the garbage collection.
+ * The wrapping web drivers share the session of the wrapped web driver.
+ * The cache is striped by the session, so the threads with the different web drivers rarely share the lock.
+ * The maximum size limits the total number of the documents in all stripes. If the maximum size is exceeded,
+ * then the least recently used document of the stripe, that received the new document, is evicted. If that
+ * stripe contains only the new document, then the least recently used document of the next stripe is evicted.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumDocumentCache {
+
+    private static final int STRIPE_COUNT = 16;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Stripe[] _stripes;
+
+    private final AtomicInteger _size;
+
+    private volatile int _maxSize;
+
+    SeleniumDocumentCache() {
+        super();
+        _stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            _stripes[i] = new Stripe();
+        }
+        _size = new AtomicInteger(0);
+        _maxSize = 0;
+    }
+
+    boolean isEnabled() {
+        return _maxSize > 0;
+    }
+
+    void setMaxSize(final int maxSize) {
+        _maxSize = Math.max(maxSize, 0);
+        evict(0, null, _maxSize);
+    }
+
+    int size() {
+        return _size.get();
+    }
+
+    Document get(final WebDriver webDriver, final SeleniumPageSnapshot pageSnapshot) {
+        Key key = new Key(getSession(webDriver), pageSnapshot);
+        return _stripes[getStripeIndex(key._session)].get(key);
+    }
+
+    void put(final WebDriver webDriver, final SeleniumPageSnapshot pageSnapshot, final Document document) {
+        int maxSize = _maxSize;
+        if (maxSize > 0) {
+            Key key = new Key(getSession(webDriver), pageSnapshot);
+            int stripeIndex = getStripeIndex(key._session);
+            if (_stripes[stripeIndex].put(key, document)) {
+                _size.incrementAndGet();
+            }
+            evict(stripeIndex, key, maxSize);
+        }
+    }
+
+    void invalidate(final WebDriver webDriver) {
+        if (isEnabled()) {
+            Object session = getSession(webDriver);
+            int removedCount = _stripes[getStripeIndex(session)].invalidate(session);
+            _size.addAndGet(-removedCount);
+        }
+    }
+
+    private void evict(final int stripeIndex, final Key key, final int maxSize) {
+        int index = 0;
+        while (index < STRIPE_COUNT && _size.get() > maxSize) {
+            if (_stripes[stripeIndex + index & STRIPE_COUNT - 1].evictEldest(key)) {
+                _size.decrementAndGet();
+            } else {
+                index++;
+            }
+        }
+    }
+
+    private static Object getSession(final WebDriver webDriver) {
+        WebDriver wrappedWebDriver = webDriver;
+        while (wrappedWebDriver instanceof WrapsDriver && ((WrapsDriver) wrappedWebDriver).getWrappedDriver() != null) {
+            wrappedWebDriver = ((WrapsDriver) wrappedWebDriver).getWrappedDriver();
+        }
+        if (wrappedWebDriver instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) wrappedWebDriver).getSessionId();
+            if (sessionId != null) {
+                return sessionId.toString();
+            }
+        }
+        return new WebDriverSession(wrappedWebDriver);
+    }
+
+    private static int getStripeIndex(final Object session) {
+        int hash = session.hashCode();
+        hash ^= hash >>> 16;
+        return hash & STRIPE_COUNT - 1;
+    }
+
+    /**
+     * The document cache stripe.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class Stripe {
+
+        private final Map<Key, Document> _documents;
+
+        Stripe() {
+            super();
+            _documents = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+        }
+
+        Document get(final Key key) {
+            synchronized (this) {
+                return _documents.get(key);
+            }
+        }
+
+        boolean put(final Key key, final Document document) {
+            synchronized (this) {
+                return _documents.put(key, document) == null;
+            }
+        }
+
+        int invalidate(final Object session) {
+            synchronized (this) {
+                int removedCount = 0;
+                Iterator<Key> iterator = _documents.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next()._session.equals(session)) {
+                        iterator.remove();
+                        removedCount++;
+                    }
+                }
+                return removedCount;
+            }
+        }
+
+        boolean evictEldest(final Key excludedKey) {
+            synchronized (this) {
+                Iterator<Key> iterator = _documents.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (!iterator.next().equals(excludedKey)) {
+                        iterator.remove();
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * The document cache key.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class Key {
+
+        private final Object _session;
+
+        private final String _baseUrl;
+
+        private final int _length;
+
+        private final long _fingerprint;
+
+        Key(final Object session, final SeleniumPageSnapshot pageSnapshot) {
+            super();
+            _session = session;
+            _baseUrl = pageSnapshot.getBaseUrl();
+            _length = pageSnapshot.getContentLength();
+            _fingerprint = pageSnapshot.getFingerprint();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return _session.equals(key._session) && _length == key._length && _fingerprint == key._fingerprint && _baseUrl.equals(key._baseUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = _session.hashCode();
+            result = 31 * result + _baseUrl.hashCode();
+            result = 31 * result + (int) (_fingerprint ^ _fingerprint >>> 32);
+            return result;
+        }
+
+    }
+
+    /**
+     * The session of the web driver without the session ID. The web driver is referenced weakly, and
+     * the sessions of the same web driver are equal, until the web driver is garbage collected.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class WebDriverSession extends WeakReference<WebDriver> {
+
+        private final int _hashCode;
+
+        WebDriverSession(final WebDriver webDriver) {
+            super(webDriver);
+            _hashCode = System.identityHashCode(webDriver);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof WebDriverSession)) {
+                return false;
+            }
+            WebDriver webDriver = get();
+            return webDriver != null && webDriver == ((WebDriverSession) obj).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,279 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.parser.Parser;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * The DOM changes of the web driver's page since the page snapshot. The changes are collected in the
+ * browser by the mutation observer, installed with the first page snapshot. The observer keeps the separate
+ * set of the changes for every generation, so the generations of different binding results do not affect
+ * each other. Every change is either the changed subtree or the changed attributes of the element,
+ * identified by the child element indices from the root element. Every step of the path also has the number
+ * of the child elements in the browser, so the path is not applied to the document, parsed with the different
+ * structure, for example the table, built by the script without the tbody element. The changes are applied
+ * to the copy of the document, parsed from the page snapshot.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumDocumentChanges {
+
+    private static final String CHANGES_SCRIPT = "/* fm:changes */"
+        + "var tracker = window.__fmChanges;"
+        + "if (!tracker) {"
+        + "    return null;"
+        + "}"
+        + "tracker.collect(tracker.observer.takeRecords());"
+        + "var changes = tracker.changeSets.get(arguments[0]);"
+        + "if (!changes) {"
+        + "    return null;"
+        + "}"
+        + "tracker.changeSets.delete(arguments[0]);"
+        + "var root = document.documentElement;"
+        + "var subtrees = [];"
+        + "changes.subtrees.forEach(function (subtree) {"
+        + "    if (subtree.isConnected) {"
+        + "        subtrees.push(subtree);"
+        + "    }"
+        + "});"
+        + "var connectedSubtrees = new Set(subtrees);"
+        + "var isCovered = function (node) {"
+        + "    for (var parent = node.parentElement; parent; parent = parent.parentElement) {"
+        + "        if (connectedSubtrees.has(parent)) {"
+        + "            return true;"
+        + "        }"
+        + "    }"
+        + "    return false;"
+        + "};"
+        + "var getPath = function (node) {"
+        + "    var path = [];"
+        + "    var childCounts = [];"
+        + "    for (var current = node; current !== root; current = current.parentElement) {"
+        + "        if (!current || !current.parentElement) {"
+        + "            return null;"
+        + "        }"
+        + "        path.unshift(Array.prototype.indexOf.call(current.parentElement.children, current));"
+        + "        childCounts.unshift(current.parentElement.children.length);"
+        + "    }"
+        + "    return {path: path, childCounts: childCounts};"
+        + "};"
+        + "var items = [];"
+        + "var overflow = changes.overflow;"
+        + "for (var i = 0; i < subtrees.length && !overflow; i++) {"
+        + "    if (!isCovered(subtrees[i])) {"
+        + "        var subtreePath = getPath(subtrees[i]);"
+        + "        if (subtreePath && subtreePath.path.length > 0) {"
+        + "            items.push({path: subtreePath.path, childCounts: subtreePath.childCounts, tagName: subtrees[i].localName, html: subtrees[i].outerHTML});"
+        + "        } else {"
+        + "            overflow = true;"
+        + "        }"
+        + "    }"
+        + "}"
+        + "changes.attributes.forEach(function (element) {"
+        + "    if (!overflow && element.isConnected && !connectedSubtrees.has(element) && !isCovered(element)) {"
+        + "        var attributesPath = getPath(element);"
+        + "        if (attributesPath) {"
+        + "            var attributes = {};"
+        + "            for (var a = 0; a < element.attributes.length; a++) {"
+        + "                attributes[element.attributes[a].name] = element.attributes[a].value;"
+        + "            }"
+        + "            items.push({path: attributesPath.path, childCounts: attributesPath.childCounts, tagName: element.localName, attributes: attributes});"
+        + "        } else {"
+        + "            overflow = true;"
+        + "        }"
+        + "    }"
+        + "});"
+        + "if (overflow) {"
+        + "    return null;"
+        + "}"
+        + "return {changeGeneration: tracker.add(), changes: items, baseUrl: document.location.href};";
+
+    private static final String CHANGE_GENERATION_KEY = "changeGeneration";
+
+    private static final String CHANGES_KEY = "changes";
+
+    private static final String BASE_URL_KEY = "baseUrl";
+
+    private static final String PATH_KEY = "path";
+
+    private static final String CHILD_COUNTS_KEY = "childCounts";
+
+    private static final String TAG_NAME_KEY = "tagName";
+
+    private static final String HTML_KEY = "html";
+
+    private static final String ATTRIBUTES_KEY = "attributes";
+
+    private final String _changeGeneration;
+
+    private final String _baseUrl;
+
+    private final List<Map<?, ?>> _changes;
+
+    private SeleniumDocumentChanges(final String changeGeneration, final String baseUrl, final List<Map<?, ?>> changes) {
+        super();
+        _changeGeneration = changeGeneration;
+        _baseUrl = baseUrl;
+        _changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Take the DOM changes of the web driver's page since the page snapshot or the previous changes
+     * with the specified generation.
+     *
+     * @param webDriver        the web driver.
+     * @param changeGeneration the generation of the changes.
+     *
+     * @return the DOM changes or null if the changes are unknown or too large.
+     */
+    static SeleniumDocumentChanges take(final WebDriver webDriver, final String changeGeneration) {
+        if (changeGeneration == null || !(webDriver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) webDriver).executeScript(CHANGES_SCRIPT, changeGeneration);
+        } catch (WebDriverException ex) {
+            return null;
+        }
+        if (!(result instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) result;
+        Object nextChangeGeneration = map.get(CHANGE_GENERATION_KEY);
+        Object baseUrl = map.get(BASE_URL_KEY);
+        Object changes = map.get(CHANGES_KEY);
+        if (!(nextChangeGeneration instanceof String) || !(baseUrl instanceof String) || !(changes instanceof List)) {
+            return null;
+        }
+        List<Map<?, ?>> changeList = new ArrayList<>();
+        for (Object change : (List<?>) changes) {
+            if (!(change instanceof Map)) {
+                return null;
+            }
+            changeList.add((Map<?, ?>) change);
+        }
+        return new SeleniumDocumentChanges((String) nextChangeGeneration, (String) baseUrl, changeList);
+    }
+
+    String getChangeGeneration() {
+        return _changeGeneration;
+    }
+
+    boolean isEmpty() {
+        return _changes.isEmpty();
+    }
+
+    /**
+     * Apply the DOM changes to the copy of the specified document.
+     *
+     * @param document the specified document.
+     *
+     * @return the changed copy of the specified document or null if the DOM changes can not be applied.
+     */
+    Document apply(final Document document) {
+        if (!_baseUrl.equals(document.location())) {
+            return null;
+        }
+        Document changedDocument = document.clone();
+        for (Map<?, ?> change : _changes) {
+            if (!apply(changedDocument, change)) {
+                return null;
+            }
+        }
+        return changedDocument;
+    }
+
+    private boolean apply(final Document document, final Map<?, ?> change) {
+        Element element = getElement(document, change.get(PATH_KEY), change.get(CHILD_COUNTS_KEY));
+        Object tagName = change.get(TAG_NAME_KEY);
+        if (element == null || !element.normalName().equalsIgnoreCase(String.valueOf(tagName))) {
+            return false;
+        }
+        Object html = change.get(HTML_KEY);
+        if (html instanceof String) {
+            return replaceElement(document, element, (String) html);
+        }
+        Object attributes = change.get(ATTRIBUTES_KEY);
+        if (attributes instanceof Map) {
+            replaceAttributes(element, (Map<?, ?>) attributes);
+            return true;
+        }
+        return false;
+    }
+
+    private Element getElement(final Document document, final Object path, final Object childCounts) {
+        if (!(path instanceof List) || !(childCounts instanceof List) || ((List<?>) path).size() != ((List<?>) childCounts).size() || document.childrenSize() == 0) {
+            return null;
+        }
+        List<?> childIndices = (List<?>) path;
+        List<?> childElementCounts = (List<?>) childCounts;
+        Element element = document.child(0);
+        for (int i = 0; i < childIndices.size(); i++) {
+            Object index = childIndices.get(i);
+            Object count = childElementCounts.get(i);
+            if (!(index instanceof Number) || !(count instanceof Number) || ((Number) count).intValue() != element.childrenSize()) {
+                return null;
+            }
+            int childIndex = ((Number) index).intValue();
+            if (childIndex < 0 || childIndex >= element.childrenSize()) {
+                return null;
+            }
+            element = element.child(childIndex);
+        }
+        return element;
+    }
+
+    private boolean replaceElement(final Document document, final Element element, final String html) {
+        Element parent = element.parent();
+        if (parent == null) {
+            return false;
+        }
+        List<Node> nodes = Parser.parseFragment(html, parent, document.location());
+        if (nodes.size() != 1 || !(nodes.get(0) instanceof Element) || !((Element) nodes.get(0)).normalName().equals(element.normalName())) {
+            return false;
+        }
+        element.replaceWith(nodes.get(0));
+        return true;
+    }
+
+    private void replaceAttributes(final Element element, final Map<?, ?> attributes) {
+        List<Attribute> oldAttributes = new ArrayList<>(element.attributes().asList());
+        for (Attribute attribute : oldAttributes) {
+            element.removeAttr(attribute.getKey());
+        }
+        for (Map.Entry<?, ?> entry : attributes.entrySet()) {
+            element.attr(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Selenium document index. Maps the attribute values of the document's elements to the elements
+ * in the document order. The index of the attribute name is built with one walk of the document on the
+ * first lookup with this attribute name, and is reused by the next lookups. The index is stored in the
+ * document, so the index lives as long as the document. The modifications of the document after the index
+ * is built are not reflected in the index.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumDocumentIndex {
+
+    private static final String USER_DATA_KEY = SeleniumDocumentIndex.class.getName();
+
+    private final Document _document;
+
+    private final Map<String, Map<String, List<Element>>> _attributeIndexes;
+
+    private SeleniumDocumentIndex(final Document document) {
+        super();
+        _document = document;
+        _attributeIndexes = new HashMap<>();
+    }
+
+    static SeleniumDocumentIndex getDocumentIndex(final Document document) {
+        synchronized (document) {
+            Object userData = document.getUserData(USER_DATA_KEY);
+            if (userData instanceof SeleniumDocumentIndex) {
+                return (SeleniumDocumentIndex) userData;
+            }
+            SeleniumDocumentIndex documentIndex = new SeleniumDocumentIndex(document);
+            document.setUserData(USER_DATA_KEY, documentIndex, null);
+            return documentIndex;
+        }
+    }
+
+    List<Element> getElements(final String attributeName, final String attributeValue) {
+        Map<String, List<Element>> attributeIndex;
+        synchronized (this) {
+            attributeIndex = _attributeIndexes.get(attributeName);
+            if (attributeIndex == null) {
+                attributeIndex = createAttributeIndex(attributeName);
+                _attributeIndexes.put(attributeName, attributeIndex);
+            }
+        }
+        List<Element> elements = attributeIndex.get(attributeValue);
+        if (elements == null) {
+            return new ArrayList<>();
+        } else {
+            return new ArrayList<>(elements);
+        }
+    }
+
+    private Map<String, List<Element>> createAttributeIndex(final String attributeName) {
+        Map<String, List<Element>> attributeIndex = new HashMap<>();
+        addElements(_document, attributeName, attributeIndex);
+        for (Map.Entry<String, List<Element>> entry : attributeIndex.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return attributeIndex;
+    }
+
+    private static void addElements(final Node parentNode, final String attributeName, final Map<String, List<Element>> attributeIndex) {
+        for (Node node = parentNode.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element) {
+                Element element = (Element) node;
+                addElement(element, attributeName, attributeIndex);
+                addElements(element, attributeName, attributeIndex);
+            }
+        }
+    }
+
+    private static void addElement(final Element element, final String attributeName, final Map<String, List<Element>> attributeIndex) {
+        Attr attribute = element.getAttributeNode(attributeName);
+        if (attribute != null) {
+            String attributeValue = attribute.getValue();
+            List<Element> elements = attributeIndex.get(attributeValue);
+            if (elements == null) {
+                elements = new ArrayList<>();
+                attributeIndex.put(attributeValue, elements);
+            }
+            elements.add(element);
+        }
+    }
+
+}
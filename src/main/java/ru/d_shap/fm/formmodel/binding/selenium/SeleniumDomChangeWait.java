@@ -0,0 +1,123 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Selenium DOM change wait. Waits for the DOM changes with the mutation observer, installed in the browser.
+ * The state of the observer is identified by the token, that consists of the random ID of the observer and
+ * the number of the observed mutations. The observer, installed after the navigation, has another ID, so
+ * the navigation is always reported as the DOM change.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumDomChangeWait {
+
+    private static final String DOM_CHANGE_SCRIPT = "/* fm:dom-change */"
+        + "var callback = arguments[arguments.length - 1];"
+        + "var state = window.__fmDomChange;"
+        + "if (!state) {"
+        + "    state = {id: Date.now().toString(36) + Math.random().toString(36).substring(2), count: 0, waiters: []};"
+        + "    state.token = function () {"
+        + "        return state.id + ':' + state.count;"
+        + "    };"
+        + "    state.observer = new MutationObserver(function () {"
+        + "        state.count++;"
+        + "        var waiters = state.waiters;"
+        + "        state.waiters = [];"
+        + "        for (var i = 0; i < waiters.length; i++) {"
+        + "            waiters[i]();"
+        + "        }"
+        + "    });"
+        + "    state.observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});"
+        + "    window.__fmDomChange = state;"
+        + "}"
+        + "if (state.token() !== arguments[1]) {"
+        + "    callback(state.token());"
+        + "    return;"
+        + "}"
+        + "var timer;"
+        + "var waiter = function () {"
+        + "    clearTimeout(timer);"
+        + "    callback(state.token());"
+        + "};"
+        + "state.waiters.push(waiter);"
+        + "timer = setTimeout(function () {"
+        + "    var index = state.waiters.indexOf(waiter);"
+        + "    if (index >= 0) {"
+        + "        state.waiters.splice(index, 1);"
+        + "    }"
+        + "    callback(state.token());"
+        + "}, arguments[0]);";
+
+    private final WebDriver _webDriver;
+
+    private boolean _supported;
+
+    private String _token;
+
+    SeleniumDomChangeWait(final WebDriver webDriver) {
+        super();
+        _webDriver = webDriver;
+        _supported = webDriver instanceof JavascriptExecutor;
+        _token = null;
+    }
+
+    /**
+     * Wait until the DOM changes or the timeout expires. If the mutation observer can not be used,
+     * then sleep for the fallback duration. If the script fails, for example during the navigation,
+     * then the token is reset and the mutation observer is used again with the next wait.
+     *
+     * @param timeOutInNanos       the timeout in nanoseconds.
+     * @param fallbackSleepInNanos the duration in nanoseconds to sleep if the mutation observer can not be used.
+     *
+     * @return true if the DOM could change.
+     *
+     * @throws InterruptedException if the current thread is interrupted.
+     */
+    boolean await(final long timeOutInNanos, final long fallbackSleepInNanos) throws InterruptedException {
+        if (_supported) {
+            long timeOutInMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeOutInNanos));
+            try {
+                Object result = ((JavascriptExecutor) _webDriver).executeAsyncScript(DOM_CHANGE_SCRIPT, timeOutInMillis, _token);
+                if (result instanceof String) {
+                    boolean domChanged = !result.equals(_token);
+                    _token = (String) result;
+                    return domChanged;
+                }
+                _supported = false;
+            } catch (JavascriptException | UnsupportedCommandException ex) {
+                _supported = false;
+            } catch (WebDriverException ex) {
+                _token = null;
+            }
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.min(fallbackSleepInNanos, timeOutInNanos));
+        return true;
+    }
+
+}
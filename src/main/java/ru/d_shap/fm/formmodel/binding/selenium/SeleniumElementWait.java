@@ -0,0 +1,189 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Selenium element wait. Polls the number, the visibility and the text of the elements, matching the lookup,
+ * with one small script call for every poll, until the condition is met. The page snapshot is not taken.
+ * If the script is not supported, then the elements are polled with the web driver. Both ways compute the
+ * same unsigned FNV hash of the elements' text content, so the text does not change after the switch.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumElementWait {
+
+    private static final String ELEMENTS_SCRIPT = "/* fm:elements */"
+        + "var elements = document.querySelectorAll(arguments[0]);"
+        + "var visibleCount = 0;"
+        + "var textHash = 0x811c9dc5;"
+        + "for (var i = 0; i < elements.length; i++) {"
+        + "    var element = elements[i];"
+        + "    var style = window.getComputedStyle(element);"
+        + "    if (style.visibility !== 'hidden' && style.display !== 'none' && (element.offsetWidth || element.offsetHeight || element.getClientRects().length)) {"
+        + "        visibleCount++;"
+        + "    }"
+        + "    var text = element.textContent || '';"
+        + "    for (var j = 0; j < text.length; j++) {"
+        + "        textHash = Math.imul(textHash ^ text.charCodeAt(j), 0x01000193) >>> 0;"
+        + "    }"
+        + "    textHash = Math.imul(textHash ^ 0xffff, 0x01000193) >>> 0;"
+        + "}"
+        + "return [elements.length, visibleCount, textHash];";
+
+    private static final int FNV_OFFSET_BASIS = 0x811c9dc5;
+
+    private static final int FNV_PRIME = 0x01000193;
+
+    private static final int TEXT_SEPARATOR = 0xffff;
+
+    private static final long UNSIGNED_INT_MASK = 0xffffffffL;
+
+    private static final String TEXT_CONTENT_ATTRIBUTE = "textContent";
+
+    private final WebDriver _webDriver;
+
+    private final String _lookup;
+
+    private final SeleniumElementCondition _elementCondition;
+
+    private final SeleniumWaitStrategy _waitStrategy;
+
+    private final SeleniumDomChangeWait _domChangeWait;
+
+    private boolean _scriptSupported;
+
+    SeleniumElementWait(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final SeleniumWaitStrategy waitStrategy) {
+        super();
+        _webDriver = webDriver;
+        _lookup = lookup;
+        _elementCondition = elementCondition;
+        _waitStrategy = waitStrategy;
+        if (waitStrategy instanceof SeleniumWaitStrategies.DomChangeWaitStrategy) {
+            _domChangeWait = new SeleniumDomChangeWait(webDriver);
+        } else {
+            _domChangeWait = null;
+        }
+        _scriptSupported = webDriver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * Wait until the condition is met or the timeout expires.
+     *
+     * @return the state of the elements, matching the lookup, when the condition is met.
+     */
+    SeleniumElementWaitResult await() {
+        long startTimeNanos = System.nanoTime();
+        long[] initialState = getElementsState();
+        long[] state = initialState;
+        int attempt = 1;
+        while (!isConditionMet(initialState, state)) {
+            long remainingNanos = _waitStrategy.getTimeOutInNanos() - (System.nanoTime() - startTimeNanos);
+            if (attempt >= _waitStrategy.getMaxAttempts() || remainingNanos <= 0) {
+                throw new TimeoutException("Condition is not met: " + _elementCondition + ", " + _lookup);
+            }
+            long sleepInNanos = Math.min(_waitStrategy.getSleepInNanos(attempt), remainingNanos);
+            try {
+                if (_domChangeWait == null) {
+                    TimeUnit.NANOSECONDS.sleep(sleepInNanos);
+                } else {
+                    _domChangeWait.await(remainingNanos, sleepInNanos);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Wait is interrupted: " + _elementCondition + ", " + _lookup, ex);
+            }
+            attempt++;
+            state = getElementsState();
+        }
+        return new SeleniumElementWaitResult((int) state[0], (int) state[1], state[2] != initialState[2]);
+    }
+
+    private boolean isConditionMet(final long[] initialState, final long[] state) {
+        switch (_elementCondition) {
+            case PRESENT:
+                return state[0] > 0;
+            case VISIBLE:
+                return state[1] > 0;
+            case TEXT_CHANGED:
+                return state != initialState && (state[0] != initialState[0] || state[2] != initialState[2]);
+            default:
+                return false;
+        }
+    }
+
+    private long[] getElementsState() {
+        if (_scriptSupported) {
+            Object result;
+            try {
+                result = ((JavascriptExecutor) _webDriver).executeScript(ELEMENTS_SCRIPT, _lookup);
+            } catch (JavascriptException | UnsupportedCommandException ex) {
+                result = null;
+            } catch (WebDriverException ex) {
+                return getElementsStateWithWebDriver();
+            }
+            if (result instanceof List && ((List<?>) result).size() == 3) {
+                List<?> values = (List<?>) result;
+                long[] state = new long[3];
+                for (int i = 0; i < state.length; i++) {
+                    Object value = values.get(i);
+                    if (value instanceof Number) {
+                        state[i] = ((Number) value).longValue();
+                    }
+                }
+                return state;
+            }
+            _scriptSupported = false;
+        }
+        return getElementsStateWithWebDriver();
+    }
+
+    private long[] getElementsStateWithWebDriver() {
+        List<WebElement> webElements = _webDriver.findElements(By.cssSelector(_lookup));
+        long visibleCount = 0;
+        int textHash = FNV_OFFSET_BASIS;
+        for (WebElement webElement : webElements) {
+            if (webElement.isDisplayed()) {
+                visibleCount++;
+            }
+            String text = webElement.getAttribute(TEXT_CONTENT_ATTRIBUTE);
+            if (text == null) {
+                text = "";
+            }
+            for (int i = 0; i < text.length(); i++) {
+                textHash = (textHash ^ text.charAt(i)) * FNV_PRIME;
+            }
+            textHash = (textHash ^ TEXT_SEPARATOR) * FNV_PRIME;
+        }
+        return new long[]{webElements.size(), visibleCount, textHash & UNSIGNED_INT_MASK};
+    }
+
+}
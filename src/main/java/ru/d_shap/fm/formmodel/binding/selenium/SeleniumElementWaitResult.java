@@ -0,0 +1,69 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+/**
+ * The result of the element wait: the state of the elements, matching the lookup, when the condition is met.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumElementWaitResult {
+
+    private final int _elementCount;
+
+    private final int _visibleElementCount;
+
+    private final boolean _textChanged;
+
+    SeleniumElementWaitResult(final int elementCount, final int visibleElementCount, final boolean textChanged) {
+        super();
+        _elementCount = elementCount;
+        _visibleElementCount = visibleElementCount;
+        _textChanged = textChanged;
+    }
+
+    /**
+     * Get the number of the elements, matching the lookup.
+     *
+     * @return the number of the elements, matching the lookup.
+     */
+    public int getElementCount() {
+        return _elementCount;
+    }
+
+    /**
+     * Get the number of the visible elements, matching the lookup.
+     *
+     * @return the number of the visible elements, matching the lookup.
+     */
+    public int getVisibleElementCount() {
+        return _visibleElementCount;
+    }
+
+    /**
+     * Check if the text content of the elements, matching the lookup, changed since the wait started.
+     *
+     * @return true if the text content of the elements changed.
+     */
+    public boolean isTextChanged() {
+        return _textChanged;
+    }
+
+}
@@ -19,7 +19,17 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding.selenium;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.openqa.selenium.WebDriver;
 import org.w3c.dom.Document;
@@ -33,7 +43,11 @@ import ru.d_shap.fm.formmodel.document.DocumentLookup;
 import ru.d_shap.fm.formmodel.document.DocumentProcessor;
 
 /**
- * Selenium form binder.
+ * Selenium form binder. The form binder is thread-safe and can be shared by many threads, every thread
+ * with its own web driver, if the form definitions are not modified after the form binder is created.
+ * Every bind call uses its own page snapshot, and the cached documents are shared only by the binds of
+ * the same web driver. The web driver itself is not thread-safe, so the same web driver should not be
+ * used by many threads concurrently.
  *
  * @author Dmitry Shapovalov
  */
@@ -43,12 +57,24 @@ public final class SeleniumFormBinder {
 
     private static final long DEFAULT_SLEEP_IN_MILLIS = 200;
 
+    private static final String ALL_ELEMENTS_LOOKUP = ".//*";
+
+    private static final String ID_ATTRIBUTE = "id";
+
     private final FormDefinitions _formDefinitions;
 
     private final FormBinder _formBinder;
 
     private final DocumentLookup _documentLookup;
 
+    private final SeleniumFormBinderContext _context;
+
+    private final SeleniumLookupCache _lookupCache;
+
+    private final ConcurrentMap<FormDefinition, String> _rootLookups;
+
+    private final ConcurrentMap<FormDefinition, SeleniumPageSignature> _pageSignatures;
+
     /**
      * Create new object.
      *
@@ -57,8 +83,216 @@ public final class SeleniumFormBinder {
     public SeleniumFormBinder(final FormDefinitions formDefinitions) {
         super();
         _formDefinitions = formDefinitions;
-        _formBinder = new FormBinder(_formDefinitions, new SeleniumFormInstanceBinder());
+        _context = new SeleniumFormBinderContext();
+        _formBinder = new FormBinder(_formDefinitions, new SeleniumFormInstanceBinder(_context));
         _documentLookup = DocumentLookup.getDocumentLookup();
+        _lookupCache = new SeleniumLookupCache(_documentLookup, _context.getStatistics());
+        _rootLookups = new ConcurrentHashMap<>();
+        _pageSignatures = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the statistics of this form binder.
+     *
+     * @return the statistics of this form binder.
+     */
+    public SeleniumFormBinderStatistics getStatistics() {
+        return _context.getStatistics();
+    }
+
+    /**
+     * Set the number of times the stale web element of the binded element is resolved again
+     * before the action on the binded element fails.
+     *
+     * @param staleElementRetryCount the number of times the stale web element is resolved again.
+     */
+    public void setStaleElementRetryCount(final int staleElementRetryCount) {
+        _context.setStaleElementRetryCount(staleElementRetryCount);
+    }
+
+    /**
+     * Set the maximum number of the parsed documents, cached by this form binder. If the document cache is used,
+     * then the consecutive binds on the unchanged page of the same web driver reuse the parsed document.
+     * The documents of the web driver are removed from the document cache when the binded element of this
+     * web driver is clicked, cleared, submitted or receives keys. By default the document cache is not used.
+     * The maximum number limits the total number of the cached documents of all web drivers. The least
+     * recently used document of the same stripe of the document cache is evicted first, so the evicted
+     * document is not always the least recently used document of the whole document cache.
+     *
+     * @param documentCacheSize the maximum number of the cached documents, 0 to disable the document cache.
+     */
+    public void setDocumentCacheSize(final int documentCacheSize) {
+        _context.getDocumentCache().setMaxSize(documentCacheSize);
+    }
+
+    /**
+     * Set the maximum number of the compiled lookup expressions, cached by this form binder. The compiled
+     * lookup expressions are used by the lookups with the lookup expression and by the lookups with the
+     * attribute value. The lookups with the same attribute name share the lookup expression, and the attribute
+     * value is passed as the variable. If the cache is full, then the lookup expression with the oldest last
+     * use is evicted. The eviction is approximate under the concurrent lookups. By default the lookup cache is
+     * disabled.
+     *
+     * @param lookupCacheSize the maximum number of the cached lookup expressions, 0 to disable the lookup cache.
+     */
+    public void setLookupCacheSize(final int lookupCacheSize) {
+        _lookupCache.setMaxSize(lookupCacheSize);
+    }
+
+    /**
+     * Set the index of the binded documents. If the index is used, then the lookups with the ID and the lookups
+     * with the attribute value on the binded document use the index of the attribute values. The index of the
+     * attribute name is built on the first lookup with this attribute name and is stored in the binded document,
+     * so the next lookups do not walk the document. The index is used only if the lookup node is the document.
+     * By default the index is not used.
+     *
+     * @param documentIndexEnabled true to use the index of the binded documents.
+     */
+    public void setDocumentIndexEnabled(final boolean documentIndexEnabled) {
+        _context.setDocumentIndexEnabled(documentIndexEnabled);
+    }
+
+    /**
+     * Set the executor service to schedule the asynchronous bind attempts. By default the bind attempts
+     * are scheduled with the shared executor service of daemon threads, sized for the blocking web driver
+     * calls. The executor service should have at least as many threads, as the web drivers, that are bound
+     * in parallel, since every bind attempt blocks the thread until the web driver responds.
+     *
+     * @param scheduledExecutorService the executor service or null to use the shared executor service.
+     */
+    public void setScheduledExecutorService(final ScheduledExecutorService scheduledExecutorService) {
+        _context.setScheduledExecutorService(scheduledExecutorService);
+    }
+
+    /**
+     * Set the listener of the binding events with the timings of the binding phases.
+     *
+     * @param bindListener the listener or null to remove the listener.
+     */
+    public void setBindListener(final SeleniumBindListener bindListener) {
+        _context.setBindListener(bindListener);
+    }
+
+    /**
+     * Set the pre-check of the page snapshots. If the pre-check is enabled, then the page snapshot is searched
+     * for the tag names, the attribute names and the attribute values of the root lookup and of the lookups
+     * of the required top-level elements of the form definition before the page snapshot is parsed. If some
+     * of them are not found, then the bind attempt fails without parsing. The pre-check uses only the simple
+     * lookups: the type, ID, class and attribute selectors with the combinators. By default the pre-check
+     * is not used.
+     *
+     * @param preCheckEnabled true to enable the pre-check.
+     */
+    public void setPreCheckEnabled(final boolean preCheckEnabled) {
+        _context.setPreCheckEnabled(preCheckEnabled);
+    }
+
+    /**
+     * Set the marker snapshots. If the marker snapshots are enabled, then the elements of the page snapshot
+     * are marked with the indices of the corresponding web elements, and the web elements are registered in the
+     * web driver's page. The web elements of the binded elements are then resolved by these indices instead of
+     * the CSS selectors. The web driver's page is not modified, only the registry of the last page snapshot is
+     * kept. If the web element is not registered or is detached, then it is resolved by the CSS selector.
+     * By default the marker snapshots are not used.
+     *
+     * @param markerSnapshotEnabled true to enable the marker snapshots.
+     */
+    public void setMarkerSnapshotEnabled(final boolean markerSnapshotEnabled) {
+        _context.setMarkerSnapshotEnabled(markerSnapshotEnabled);
+    }
+
+    /**
+     * Set the frame lookup. If the frame lookup is set, then the page snapshot is taken from the top-level
+     * browsing context, and the content of the same-origin frames, matching the frame lookup, is added
+     * to the page snapshot, so the forms inside the frames are binded with the same page snapshot. The frames
+     * inside the frames are added the same way. The web driver is switched to the frame of the binded element
+     * before the web element is used, if another frame is selected, and stays in this frame afterwards. The page
+     * snapshot switches the web driver back to the top-level browsing context. The cross-origin frames are not
+     * added. By default the frames are not added.
+     *
+     * @param frameLookup the CSS selector of the frames, for example "iframe, frame", or null to skip the frames.
+     */
+    public void setFrameLookup(final String frameLookup) {
+        _context.setFrameLookup(frameLookup);
+    }
+
+    /**
+     * Set the shadow root snapshots. If the shadow root snapshots are enabled, then the content of every
+     * open shadow root is added to the page snapshot as the last child element of the shadow host, so the
+     * elements inside the web components are binded. The web elements inside the shadow roots are resolved
+     * by the CSS selector of the outermost shadow host and the child element indices inside the shadow roots.
+     * The closed shadow roots and the shadow roots inside the frames are not added. By default the shadow
+     * roots are not added.
+     *
+     * @param shadowRootSnapshotEnabled true to enable the shadow root snapshots.
+     */
+    public void setShadowRootSnapshotEnabled(final boolean shadowRootSnapshotEnabled) {
+        _context.setShadowRootSnapshotEnabled(shadowRootSnapshotEnabled);
+    }
+
+    /**
+     * Set the incremental rebind. If the incremental rebind is enabled, then the DOM changes of the web driver's
+     * page are tracked in the browser since the page snapshot, and the binding result can be rebinded with
+     * these DOM changes only. The incremental rebind is used only for the whole page snapshots: the root lookup,
+     * the frame lookup and the shadow root snapshots disable it. By default the incremental rebind is not used.
+     *
+     * @param incrementalRebindEnabled true to enable the incremental rebind.
+     */
+    public void setIncrementalRebindEnabled(final boolean incrementalRebindEnabled) {
+        _context.setIncrementalRebindEnabled(incrementalRebindEnabled);
+    }
+
+    /**
+     * Set the compressed transfer of the page snapshots. If the compressed transfer is enabled and the browser
+     * supports the compression streams, then the large page snapshots are compressed with gzip in the browser,
+     * transferred encoded with base64 and decompressed directly into the parser. Otherwise the page snapshots
+     * are transferred as is. The pre-check is not used for the compressed page snapshots. By default the page
+     * snapshots are transferred as is.
+     *
+     * @param compressedTransferEnabled true to enable the compressed transfer.
+     */
+    public void setCompressedTransferEnabled(final boolean compressedTransferEnabled) {
+        _context.setCompressedTransferEnabled(compressedTransferEnabled);
+    }
+
+    /**
+     * Set the root lookup for the specified form definition. If the root lookup is set, then only the
+     * elements matching the root lookup and their ancestors are transferred from the browser and parsed.
+     * The ancestors keep their attributes and their sibling elements, but not the content of the sibling
+     * elements, so the CSS selectors of the binded elements still match the elements of the web driver's page.
+     * All the form's elements should be inside the elements matching the root lookup.
+     *
+     * @param id         the specified form's ID.
+     * @param rootLookup the CSS selector of the root elements or null to snapshot the whole page.
+     */
+    public void setRootLookup(final String id, final String rootLookup) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
+        setRootLookup(formDefinition, rootLookup);
+    }
+
+    /**
+     * Set the root lookup for the specified form definition. If the root lookup is set, then only the
+     * elements matching the root lookup and their ancestors are transferred from the browser and parsed.
+     * The ancestors keep their attributes and their sibling elements, but not the content of the sibling
+     * elements, so the CSS selectors of the binded elements still match the elements of the web driver's page.
+     * All the form's elements should be inside the elements matching the root lookup.
+     *
+     * @param group      the specified form's group.
+     * @param id         the specified form's ID.
+     * @param rootLookup the CSS selector of the root elements or null to snapshot the whole page.
+     */
+    public void setRootLookup(final String group, final String id, final String rootLookup) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
+        setRootLookup(formDefinition, rootLookup);
+    }
+
+    private void setRootLookup(final FormDefinition formDefinition, final String rootLookup) {
+        if (rootLookup == null) {
+            _rootLookups.remove(formDefinition);
+        } else {
+            _rootLookups.put(formDefinition, rootLookup);
+        }
+        _pageSignatures.remove(formDefinition);
     }
 
     /**
@@ -84,11 +318,26 @@ public final class SeleniumFormBinder {
      * @return the binding result.
      */
     public Document bind(final WebDriver webDriver, final String id, final long timeOutInSeconds, final long sleepInMillis) {
-        SeleniumBindingSource seleniumBindingSource = new SeleniumBindingSourceImpl(webDriver);
-        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptId(id);
+        return bind(webDriver, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis));
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source.
+     *
+     * @param webDriver    the web driver.
+     * @param id           the specified form's ID.
+     * @param waitStrategy the wait strategy.
+     *
+     * @return the binding result.
+     */
+    public Document bind(final WebDriver webDriver, final String id, final SeleniumWaitStrategy waitStrategy) {
         FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
-        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, timeOutInSeconds, sleepInMillis);
-        return seleniumFormBinderWait.bind();
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptId(id);
+        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        Document document = seleniumFormBinderWait.bind();
+        putRebindState(document, seleniumBindingSource, bindAttempt, formDefinition);
+        return document;
     }
 
     /**
@@ -116,11 +365,27 @@ public final class SeleniumFormBinder {
      * @return the binding result.
      */
     public Document bind(final WebDriver webDriver, final String group, final String id, final long timeOutInSeconds, final long sleepInMillis) {
-        SeleniumBindingSource seleniumBindingSource = new SeleniumBindingSourceImpl(webDriver);
-        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptGroupAndId(group, id);
+        return bind(webDriver, group, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis));
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source.
+     *
+     * @param webDriver    the web driver.
+     * @param group        the specified form's group.
+     * @param id           the specified form's ID.
+     * @param waitStrategy the wait strategy.
+     *
+     * @return the binding result.
+     */
+    public Document bind(final WebDriver webDriver, final String group, final String id, final SeleniumWaitStrategy waitStrategy) {
         FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
-        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, timeOutInSeconds, sleepInMillis);
-        return seleniumFormBinderWait.bind();
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptGroupAndId(group, id);
+        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        Document document = seleniumFormBinderWait.bind();
+        putRebindState(document, seleniumBindingSource, bindAttempt, formDefinition);
+        return document;
     }
 
     /**
@@ -150,10 +415,25 @@ public final class SeleniumFormBinder {
      * @return the result of the document processing.
      */
     public <T> T bind(final WebDriver webDriver, final String id, final long timeOutInSeconds, final long sleepInMillis, final DocumentProcessor<T> documentProcessor) {
-        SeleniumBindingSource seleniumBindingSource = new SeleniumBindingSourceImpl(webDriver);
-        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptId<>(id, documentProcessor);
+        return bind(webDriver, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis), documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source.
+     *
+     * @param webDriver         the web driver.
+     * @param id                the specified form's ID.
+     * @param waitStrategy      the wait strategy.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the result of the document processing.
+     */
+    public <T> T bind(final WebDriver webDriver, final String id, final SeleniumWaitStrategy waitStrategy, final DocumentProcessor<T> documentProcessor) {
         FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
-        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, timeOutInSeconds, sleepInMillis);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptId<>(id, documentProcessor);
+        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
         return seleniumFormBinderWait.bind();
     }
 
@@ -186,13 +466,457 @@ public final class SeleniumFormBinder {
      * @return the result of the document processing.
      */
     public <T> T bind(final WebDriver webDriver, final String group, final String id, final long timeOutInSeconds, final long sleepInMillis, final DocumentProcessor<T> documentProcessor) {
-        SeleniumBindingSource seleniumBindingSource = new SeleniumBindingSourceImpl(webDriver);
-        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptGroupAndId<>(group, id, documentProcessor);
+        return bind(webDriver, group, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis), documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source.
+     *
+     * @param webDriver         the web driver.
+     * @param group             the specified form's group.
+     * @param id                the specified form's ID.
+     * @param waitStrategy      the wait strategy.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the result of the document processing.
+     */
+    public <T> T bind(final WebDriver webDriver, final String group, final String id, final SeleniumWaitStrategy waitStrategy, final DocumentProcessor<T> documentProcessor) {
         FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
-        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, timeOutInSeconds, sleepInMillis);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptGroupAndId<>(group, id, documentProcessor);
+        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        return seleniumFormBinderWait.bind();
+    }
+
+    /**
+     * Bind the specified form definitions with the same snapshot of the web driver's page source.
+     * Every bind attempt binds all form definitions, so all binding results are from the same page snapshot.
+     *
+     * @param webDriver the web driver.
+     * @param ids       the specified forms' IDs.
+     *
+     * @return the binding results for the specified forms' IDs.
+     */
+    public Map<String, Document> bindAll(final WebDriver webDriver, final String... ids) {
+        return bindAll(webDriver, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS), ids);
+    }
+
+    /**
+     * Bind the specified form definitions with the same snapshot of the web driver's page source.
+     * Every bind attempt binds all form definitions, so all binding results are from the same page snapshot.
+     *
+     * @param webDriver    the web driver.
+     * @param waitStrategy the wait strategy.
+     * @param ids          the specified forms' IDs.
+     *
+     * @return the binding results for the specified forms' IDs.
+     */
+    public Map<String, Document> bindAll(final WebDriver webDriver, final SeleniumWaitStrategy waitStrategy, final String... ids) {
+        List<FormDefinition> formDefinitions = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            formDefinitions.add(_formDefinitions.getFormDefinition(id));
+        }
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinitions);
+        SeleniumFormBinderWait.BindAttempt<Map<String, Document>> bindAttempt = new DocumentsBindAttemptIds(ids);
+        SeleniumFormBinderWait<Map<String, Document>> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, getFirstFormDefinition(formDefinitions), waitStrategy);
         return seleniumFormBinderWait.bind();
     }
 
+    /**
+     * Bind the specified form definitions of the same group with the same snapshot of the web driver's page source.
+     * Every bind attempt binds all form definitions, so all binding results are from the same page snapshot.
+     *
+     * @param webDriver the web driver.
+     * @param group     the specified forms' group.
+     * @param ids       the specified forms' IDs.
+     *
+     * @return the binding results for the specified forms' IDs.
+     */
+    public Map<String, Document> bindAllInGroup(final WebDriver webDriver, final String group, final String... ids) {
+        return bindAllInGroup(webDriver, group, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS), ids);
+    }
+
+    /**
+     * Bind the specified form definitions of the same group with the same snapshot of the web driver's page source.
+     * Every bind attempt binds all form definitions, so all binding results are from the same page snapshot.
+     *
+     * @param webDriver    the web driver.
+     * @param group        the specified forms' group.
+     * @param waitStrategy the wait strategy.
+     * @param ids          the specified forms' IDs.
+     *
+     * @return the binding results for the specified forms' IDs.
+     */
+    public Map<String, Document> bindAllInGroup(final WebDriver webDriver, final String group, final SeleniumWaitStrategy waitStrategy, final String... ids) {
+        List<FormDefinition> formDefinitions = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            formDefinitions.add(_formDefinitions.getFormDefinition(group, id));
+        }
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinitions);
+        SeleniumFormBinderWait.BindAttempt<Map<String, Document>> bindAttempt = new DocumentsBindAttemptGroupAndIds(group, ids);
+        SeleniumFormBinderWait<Map<String, Document>> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, getFirstFormDefinition(formDefinitions), waitStrategy);
+        return seleniumFormBinderWait.bind();
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver the web driver.
+     * @param id        the specified form's ID.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String id) {
+        return bindAsync(webDriver, id, DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver        the web driver.
+     * @param id               the specified form's ID.
+     * @param timeOutInSeconds the timeout in seconds when an expectation is called.
+     * @param sleepInMillis    the duration in milliseconds to sleep between polls.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String id, final long timeOutInSeconds, final long sleepInMillis) {
+        return bindAsync(webDriver, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis));
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver    the web driver.
+     * @param id           the specified form's ID.
+     * @param waitStrategy the wait strategy.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String id, final SeleniumWaitStrategy waitStrategy) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptId(id);
+        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        return seleniumFormBinderWait.bindAsync(_context.getScheduledExecutorService());
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver the web driver.
+     * @param group     the specified form's group.
+     * @param id        the specified form's ID.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String group, final String id) {
+        return bindAsync(webDriver, group, id, DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver        the web driver.
+     * @param group            the specified form's group.
+     * @param id               the specified form's ID.
+     * @param timeOutInSeconds the timeout in seconds when an expectation is called.
+     * @param sleepInMillis    the duration in milliseconds to sleep between polls.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String group, final String id, final long timeOutInSeconds, final long sleepInMillis) {
+        return bindAsync(webDriver, group, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis));
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver    the web driver.
+     * @param group        the specified form's group.
+     * @param id           the specified form's ID.
+     * @param waitStrategy the wait strategy.
+     *
+     * @return the future binding result.
+     */
+    public Future<Document> bindAsync(final WebDriver webDriver, final String group, final String id, final SeleniumWaitStrategy waitStrategy) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<Document> bindAttempt = new DocumentBindAttemptGroupAndId(group, id);
+        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        return seleniumFormBinderWait.bindAsync(_context.getScheduledExecutorService());
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param id                the specified form's ID.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String id, final DocumentProcessor<T> documentProcessor) {
+        return bindAsync(webDriver, id, DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS, documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param id                the specified form's ID.
+     * @param timeOutInSeconds  the timeout in seconds when an expectation is called.
+     * @param sleepInMillis     the duration in milliseconds to sleep between polls.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String id, final long timeOutInSeconds, final long sleepInMillis, final DocumentProcessor<T> documentProcessor) {
+        return bindAsync(webDriver, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis), documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param id                the specified form's ID.
+     * @param waitStrategy      the wait strategy.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String id, final SeleniumWaitStrategy waitStrategy, final DocumentProcessor<T> documentProcessor) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptId<>(id, documentProcessor);
+        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        return seleniumFormBinderWait.bindAsync(_context.getScheduledExecutorService());
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param group             the specified form's group.
+     * @param id                the specified form's ID.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String group, final String id, final DocumentProcessor<T> documentProcessor) {
+        return bindAsync(webDriver, group, id, DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS, documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param group             the specified form's group.
+     * @param id                the specified form's ID.
+     * @param timeOutInSeconds  the timeout in seconds when an expectation is called.
+     * @param sleepInMillis     the duration in milliseconds to sleep between polls.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String group, final String id, final long timeOutInSeconds, final long sleepInMillis, final DocumentProcessor<T> documentProcessor) {
+        return bindAsync(webDriver, group, id, SeleniumWaitStrategies.fixed(timeOutInSeconds, sleepInMillis), documentProcessor);
+    }
+
+    /**
+     * Bind the specified form definition with the web driver's page source asynchronously.
+     * No thread is blocked between the bind attempts, the bind attempts are scheduled with the executor service.
+     *
+     * @param webDriver         the web driver.
+     * @param group             the specified form's group.
+     * @param id                the specified form's ID.
+     * @param waitStrategy      the wait strategy.
+     * @param documentProcessor the document processor.
+     * @param <T>               the generic type of the result of the document processing.
+     *
+     * @return the future result of the document processing.
+     */
+    public <T> Future<T> bindAsync(final WebDriver webDriver, final String group, final String id, final SeleniumWaitStrategy waitStrategy, final DocumentProcessor<T> documentProcessor) {
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumFormBinderWait.BindAttempt<T> bindAttempt = new DocumentProcessorBindAttemptGroupAndId<>(group, id, documentProcessor);
+        SeleniumFormBinderWait<T> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, bindAttempt, formDefinition, waitStrategy);
+        return seleniumFormBinderWait.bindAsync(_context.getScheduledExecutorService());
+    }
+
+    /**
+     * Rebind the form definition of the specified binding result with the DOM changes of the web driver's page.
+     * If the page did not change, then the specified binding result is returned. If the DOM changes can be
+     * applied to the document of the specified binding result, then the form definition is binded with the
+     * changed document without the page snapshot. Otherwise the form definition is binded with the new page
+     * snapshot.
+     *
+     * @param document the specified binding result, obtained with the incremental rebind enabled.
+     *
+     * @return the binding result.
+     */
+    public Document rebind(final Document document) {
+        return rebind(document, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS));
+    }
+
+    /**
+     * Rebind the form definition of the specified binding result with the DOM changes of the web driver's page.
+     * If the page did not change, then the specified binding result is returned. If the DOM changes can be
+     * applied to the document of the specified binding result, then the form definition is binded with the
+     * changed document without the page snapshot. Otherwise the form definition is binded with the new page
+     * snapshot.
+     *
+     * @param document     the specified binding result, obtained with the incremental rebind enabled.
+     * @param waitStrategy the wait strategy.
+     *
+     * @return the binding result.
+     */
+    public Document rebind(final Document document, final SeleniumWaitStrategy waitStrategy) {
+        SeleniumRebindState rebindState = SeleniumRebindState.get(document);
+        if (rebindState == null) {
+            throw new IllegalArgumentException("Document is not binded with the incremental rebind");
+        }
+        WebDriver webDriver = rebindState.getWebDriver();
+        FormDefinition formDefinition = rebindState.getFormDefinition();
+        SeleniumBindingSourceImpl seleniumBindingSource = createBindingSource(webDriver, formDefinition);
+        SeleniumDocumentChanges documentChanges = SeleniumDocumentChanges.take(webDriver, rebindState.getChangeGeneration());
+        if (documentChanges == null) {
+            _context.getStatistics().incrementFullRebindCount();
+        } else {
+            if (documentChanges.isEmpty()) {
+                new SeleniumRebindState(webDriver, formDefinition, rebindState.getBindAttempt(), rebindState.getDocument(), documentChanges.getChangeGeneration()).put(document);
+                _context.getStatistics().incrementIncrementalRebindCount();
+                return document;
+            }
+            org.jsoup.nodes.Document changedDocument = documentChanges.apply(rebindState.getDocument());
+            if (changedDocument == null) {
+                _context.getStatistics().incrementFullRebindCount();
+            } else {
+                seleniumBindingSource.setChangedDocument(changedDocument, documentChanges.getChangeGeneration());
+                _context.getStatistics().incrementIncrementalRebindCount();
+            }
+        }
+        SeleniumFormBinderWait<Document> seleniumFormBinderWait = new SeleniumFormBinderWait<>(_formBinder, seleniumBindingSource, rebindState.getBindAttempt(), formDefinition, waitStrategy);
+        Document reboundDocument = seleniumFormBinderWait.bind();
+        putRebindState(reboundDocument, seleniumBindingSource, rebindState.getBindAttempt(), formDefinition);
+        return reboundDocument;
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition. The elements are
+     * polled in the browser without the page snapshot.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     *
+     * @return the state of the elements, matching the specified lookup, when the condition is met.
+     */
+    public SeleniumElementWaitResult waitForElements(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition) {
+        return waitForElements(webDriver, lookup, elementCondition, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS));
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition. The elements are
+     * polled in the browser without the page snapshot.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     * @param waitStrategy     the wait strategy.
+     *
+     * @return the state of the elements, matching the specified lookup, when the condition is met.
+     */
+    public SeleniumElementWaitResult waitForElements(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final SeleniumWaitStrategy waitStrategy) {
+        SeleniumElementWait seleniumElementWait = new SeleniumElementWait(webDriver, lookup, elementCondition, waitStrategy);
+        return seleniumElementWait.await();
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition, and then bind
+     * the specified form definition with the web driver's page source.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     * @param id               the specified form's ID.
+     *
+     * @return the binding result.
+     */
+    public Document waitAndBind(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final String id) {
+        return waitAndBind(webDriver, lookup, elementCondition, id, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS));
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition, and then bind
+     * the specified form definition with the web driver's page source. The wait strategy is used both for
+     * the wait and for the binding.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     * @param id               the specified form's ID.
+     * @param waitStrategy     the wait strategy.
+     *
+     * @return the binding result.
+     */
+    public Document waitAndBind(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final String id, final SeleniumWaitStrategy waitStrategy) {
+        waitForElements(webDriver, lookup, elementCondition, waitStrategy);
+        return bind(webDriver, id, waitStrategy);
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition, and then bind
+     * the specified form definition with the web driver's page source.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     * @param group            the specified form's group.
+     * @param id               the specified form's ID.
+     *
+     * @return the binding result.
+     */
+    public Document waitAndBind(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final String group, final String id) {
+        return waitAndBind(webDriver, lookup, elementCondition, group, id, SeleniumWaitStrategies.fixed(DEFAULT_TIMEOUT_IN_SECONDS, DEFAULT_SLEEP_IN_MILLIS));
+    }
+
+    /**
+     * Wait until the elements, matching the specified lookup, meet the specified condition, and then bind
+     * the specified form definition with the web driver's page source. The wait strategy is used both for
+     * the wait and for the binding.
+     *
+     * @param webDriver        the web driver.
+     * @param lookup           the CSS selector of the elements, supported by the browser.
+     * @param elementCondition the specified condition.
+     * @param group            the specified form's group.
+     * @param id               the specified form's ID.
+     * @param waitStrategy     the wait strategy.
+     *
+     * @return the binding result.
+     */
+    public Document waitAndBind(final WebDriver webDriver, final String lookup, final SeleniumElementCondition elementCondition, final String group, final String id, final SeleniumWaitStrategy waitStrategy) {
+        waitForElements(webDriver, lookup, elementCondition, waitStrategy);
+        return bind(webDriver, group, id, waitStrategy);
+    }
+
     /**
      * Perform lookup and return the XML elements found.
      *
@@ -202,7 +926,7 @@ public final class SeleniumFormBinder {
      * @return the XML elements found.
      */
     public List<Element> getElements(final Node node, final String lookup) {
-        return _documentLookup.getElements(node, lookup);
+        return _lookupCache.getElements(node, lookup);
     }
 
     /**
@@ -214,7 +938,11 @@ public final class SeleniumFormBinder {
      * @return the XML elements found.
      */
     public List<Element> getElementsWithId(final Node node, final String id) {
-        return _documentLookup.getElementsWithId(node, id);
+        if (_context.isDocumentIndexEnabled() && node instanceof Document) {
+            return SeleniumDocumentIndex.getDocumentIndex((Document) node).getElements(ID_ATTRIBUTE, id);
+        } else {
+            return _documentLookup.getElementsWithId(node, id);
+        }
     }
 
     /**
@@ -227,7 +955,11 @@ public final class SeleniumFormBinder {
      * @return the XML elements found.
      */
     public List<Element> getElementsWithAttribute(final Node node, final String attributeName, final String attributeValue) {
-        return _documentLookup.getElementsWithAttribute(node, attributeName, attributeValue);
+        if (_context.isDocumentIndexEnabled() && node instanceof Document) {
+            return SeleniumDocumentIndex.getDocumentIndex((Document) node).getElements(attributeName, attributeValue);
+        } else {
+            return _lookupCache.getElementsWithAttribute(node, attributeName, attributeValue);
+        }
     }
 
     /**
@@ -333,6 +1065,53 @@ public final class SeleniumFormBinder {
         }
     }
 
+    /**
+     * Resolve the web elements of the specified binded elements with one script call for every web driver.
+     * The resolved web elements are cached in the binded elements, so the subsequent calls of the
+     * {@link SeleniumBindedElement#getWebElement()} method do not call the web driver.
+     *
+     * @param bindedElements the specified binded elements.
+     */
+    public void resolveWebElements(final List<? extends SeleniumBindedElement> bindedElements) {
+        SeleniumWebElementResolver.resolveWebElements(bindedElements);
+    }
+
+    /**
+     * Resolve the web elements of all binded elements of the specified node with one script call for every web driver.
+     * The resolved web elements are cached in the binded elements, so the subsequent calls of the
+     * {@link SeleniumBindedElement#getWebElement()} method do not call the web driver.
+     *
+     * @param node the specified node, for example the binding result.
+     */
+    public void resolveWebElements(final Node node) {
+        List<SeleniumBindedElement> bindedElements = getBindedElements(node, ALL_ELEMENTS_LOOKUP);
+        SeleniumWebElementResolver.resolveWebElements(bindedElements);
+    }
+
+    /**
+     * Set the values of the specified binded elements. The values are set and the input and change events
+     * are dispatched with one script call for every web driver. The binded elements, that can not be filled
+     * with the script, and the values with the special keys are filled with the native key events.
+     *
+     * @param values the values of the binded elements.
+     */
+    public void fill(final Map<? extends SeleniumBindedElement, ? extends CharSequence> values) {
+        fill(values, null);
+    }
+
+    /**
+     * Set the values of the specified binded elements. The values are set and the input and change events
+     * are dispatched with one script call for every web driver. The specified native binded elements, the binded
+     * elements, that can not be filled with the script, and the values with the special keys are filled with the
+     * native key events after all other binded elements are filled.
+     *
+     * @param values         the values of the binded elements.
+     * @param nativeElements the binded elements, that should be filled with the native key events.
+     */
+    public void fill(final Map<? extends SeleniumBindedElement, ? extends CharSequence> values, final Collection<? extends SeleniumBindedElement> nativeElements) {
+        SeleniumFormFiller.fill(values, nativeElements, _context);
+    }
+
     /**
      * Obtain the binded attributes from the specified XML elements.
      *
@@ -344,6 +1123,70 @@ public final class SeleniumFormBinder {
         return _documentLookup.getBindedAttributes(elements, SeleniumBindedAttribute.class);
     }
 
+    private SeleniumBindingSourceImpl createBindingSource(final WebDriver webDriver, final FormDefinition formDefinition) {
+        String rootLookup = getRootLookup(formDefinition);
+        SeleniumPageSignature pageSignature = getPageSignature(formDefinition);
+        return new SeleniumBindingSourceImpl(webDriver, _context, rootLookup, pageSignature, formDefinition);
+    }
+
+    private SeleniumBindingSourceImpl createBindingSource(final WebDriver webDriver, final List<FormDefinition> formDefinitions) {
+        Set<String> rootLookups = new LinkedHashSet<>();
+        for (FormDefinition formDefinition : formDefinitions) {
+            String rootLookup = getRootLookup(formDefinition);
+            if (rootLookup == null) {
+                return new SeleniumBindingSourceImpl(webDriver, _context, null);
+            }
+            rootLookups.add(rootLookup);
+        }
+        StringBuilder rootLookup = new StringBuilder();
+        for (String lookup : rootLookups) {
+            if (rootLookup.length() > 0) {
+                rootLookup.append(", ");
+            }
+            rootLookup.append(lookup);
+        }
+        return new SeleniumBindingSourceImpl(webDriver, _context, rootLookup.toString());
+    }
+
+    private void putRebindState(final Document document, final SeleniumBindingSourceImpl seleniumBindingSource, final SeleniumFormBinderWait.BindAttempt<Document> bindAttempt, final FormDefinition formDefinition) {
+        String changeGeneration = seleniumBindingSource.getChangeGeneration();
+        if (document != null && changeGeneration != null) {
+            new SeleniumRebindState(seleniumBindingSource.getWebDriver(), formDefinition, bindAttempt, seleniumBindingSource.getDocument(), changeGeneration).put(document);
+        }
+    }
+
+    private String getRootLookup(final FormDefinition formDefinition) {
+        if (formDefinition == null) {
+            return null;
+        } else {
+            return _rootLookups.get(formDefinition);
+        }
+    }
+
+    private SeleniumPageSignature getPageSignature(final FormDefinition formDefinition) {
+        if (formDefinition == null || !_context.isPreCheckEnabled()) {
+            return null;
+        }
+        SeleniumPageSignature pageSignature = _pageSignatures.get(formDefinition);
+        if (pageSignature == null) {
+            pageSignature = SeleniumPageSignature.create(getRootLookup(formDefinition), formDefinition);
+            _pageSignatures.put(formDefinition, pageSignature);
+        }
+        if (pageSignature.isEmpty()) {
+            return null;
+        } else {
+            return pageSignature;
+        }
+    }
+
+    private FormDefinition getFirstFormDefinition(final List<FormDefinition> formDefinitions) {
+        if (formDefinitions.isEmpty()) {
+            return null;
+        } else {
+            return formDefinitions.get(0);
+        }
+    }
+
     /**
      * Selenium bind attempt for the form definition, identified by the form's ID.
      *
@@ -444,4 +1287,57 @@ public final class SeleniumFormBinder {
 
     }
 
+    /**
+     * Selenium bind attempt for the form definitions, identified by the forms' IDs.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DocumentsBindAttemptIds implements SeleniumFormBinderWait.BindAttempt<Map<String, Document>> {
+
+        private final String[] _ids;
+
+        DocumentsBindAttemptIds(final String... ids) {
+            super();
+            _ids = ids.clone();
+        }
+
+        @Override
+        public Map<String, Document> tryBind(final FormBinder formBinder, final SeleniumBindingSource seleniumBindingSource) {
+            Map<String, Document> documents = new LinkedHashMap<>();
+            for (String id : _ids) {
+                documents.put(id, formBinder.bind(seleniumBindingSource, id));
+            }
+            return documents;
+        }
+
+    }
+
+    /**
+     * Selenium bind attempt for the form definitions, identified by the forms' group and forms' IDs.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DocumentsBindAttemptGroupAndIds implements SeleniumFormBinderWait.BindAttempt<Map<String, Document>> {
+
+        private final String _group;
+
+        private final String[] _ids;
+
+        DocumentsBindAttemptGroupAndIds(final String group, final String... ids) {
+            super();
+            _group = group;
+            _ids = ids.clone();
+        }
+
+        @Override
+        public Map<String, Document> tryBind(final FormBinder formBinder, final SeleniumBindingSource seleniumBindingSource) {
+            Map<String, Document> documents = new LinkedHashMap<>();
+            for (String id : _ids) {
+                documents.put(id, formBinder.bind(seleniumBindingSource, _group, id));
+            }
+            return documents;
+        }
+
+    }
+
 }
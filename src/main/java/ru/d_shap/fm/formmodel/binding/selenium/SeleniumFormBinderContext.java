@@ -0,0 +1,173 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Selenium form binder context. Contains the settings and the statistics, shared by the form binder,
+ * the binding sources and the binded elements.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumFormBinderContext {
+
+    private static final int DEFAULT_STALE_ELEMENT_RETRY_COUNT = 1;
+
+    private static final SeleniumBindListener NO_OP_BIND_LISTENER = new SeleniumBindListenerAdapter();
+
+    private final SeleniumFormBinderStatistics _statistics;
+
+    private final SeleniumDocumentCache _documentCache;
+
+    private volatile int _staleElementRetryCount;
+
+    private volatile ScheduledExecutorService _scheduledExecutorService;
+
+    private volatile SeleniumBindListener _bindListener;
+
+    private volatile boolean _preCheckEnabled;
+
+    private volatile boolean _documentIndexEnabled;
+
+    private volatile boolean _markerSnapshotEnabled;
+
+    private volatile String _frameLookup;
+
+    private volatile boolean _shadowRootSnapshotEnabled;
+
+    private volatile boolean _incrementalRebindEnabled;
+
+    private volatile boolean _compressedTransferEnabled;
+
+    SeleniumFormBinderContext() {
+        super();
+        _statistics = new SeleniumFormBinderStatistics();
+        _documentCache = new SeleniumDocumentCache();
+        _staleElementRetryCount = DEFAULT_STALE_ELEMENT_RETRY_COUNT;
+        _scheduledExecutorService = null;
+        _bindListener = NO_OP_BIND_LISTENER;
+        _preCheckEnabled = false;
+        _documentIndexEnabled = false;
+        _markerSnapshotEnabled = false;
+        _frameLookup = null;
+        _shadowRootSnapshotEnabled = false;
+        _incrementalRebindEnabled = false;
+        _compressedTransferEnabled = false;
+    }
+
+    SeleniumFormBinderStatistics getStatistics() {
+        return _statistics;
+    }
+
+    SeleniumDocumentCache getDocumentCache() {
+        return _documentCache;
+    }
+
+    int getStaleElementRetryCount() {
+        return _staleElementRetryCount;
+    }
+
+    void setStaleElementRetryCount(final int staleElementRetryCount) {
+        _staleElementRetryCount = staleElementRetryCount;
+    }
+
+    ScheduledExecutorService getScheduledExecutorService() {
+        ScheduledExecutorService scheduledExecutorService = _scheduledExecutorService;
+        if (scheduledExecutorService == null) {
+            return SeleniumBindScheduler.getDefaultScheduledExecutorService();
+        } else {
+            return scheduledExecutorService;
+        }
+    }
+
+    void setScheduledExecutorService(final ScheduledExecutorService scheduledExecutorService) {
+        _scheduledExecutorService = scheduledExecutorService;
+    }
+
+    SeleniumBindListener getBindListener() {
+        return _bindListener;
+    }
+
+    boolean isPreCheckEnabled() {
+        return _preCheckEnabled;
+    }
+
+    void setPreCheckEnabled(final boolean preCheckEnabled) {
+        _preCheckEnabled = preCheckEnabled;
+    }
+
+    boolean isDocumentIndexEnabled() {
+        return _documentIndexEnabled;
+    }
+
+    void setDocumentIndexEnabled(final boolean documentIndexEnabled) {
+        _documentIndexEnabled = documentIndexEnabled;
+    }
+
+    boolean isMarkerSnapshotEnabled() {
+        return _markerSnapshotEnabled;
+    }
+
+    void setMarkerSnapshotEnabled(final boolean markerSnapshotEnabled) {
+        _markerSnapshotEnabled = markerSnapshotEnabled;
+    }
+
+    String getFrameLookup() {
+        return _frameLookup;
+    }
+
+    void setFrameLookup(final String frameLookup) {
+        _frameLookup = frameLookup;
+    }
+
+    boolean isShadowRootSnapshotEnabled() {
+        return _shadowRootSnapshotEnabled;
+    }
+
+    void setShadowRootSnapshotEnabled(final boolean shadowRootSnapshotEnabled) {
+        _shadowRootSnapshotEnabled = shadowRootSnapshotEnabled;
+    }
+
+    boolean isIncrementalRebindEnabled() {
+        return _incrementalRebindEnabled;
+    }
+
+    void setIncrementalRebindEnabled(final boolean incrementalRebindEnabled) {
+        _incrementalRebindEnabled = incrementalRebindEnabled;
+    }
+
+    boolean isCompressedTransferEnabled() {
+        return _compressedTransferEnabled;
+    }
+
+    void setCompressedTransferEnabled(final boolean compressedTransferEnabled) {
+        _compressedTransferEnabled = compressedTransferEnabled;
+    }
+
+    void setBindListener(final SeleniumBindListener bindListener) {
+        if (bindListener == null) {
+            _bindListener = NO_OP_BIND_LISTENER;
+        } else {
+            _bindListener = bindListener;
+        }
+    }
+
+}
@@ -0,0 +1,303 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Selenium form binder statistics.
+ *
+ * <p>
+ * The counters are striped by the thread, so the threads, binding the forms concurrently, rarely update
+ * the same memory. Every stripe contains all counters, and the value of the counter is the sum of the
+ * stripes.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumFormBinderStatistics {
+
+    private static final int STRIPE_COUNT = 16;
+
+    private static final int SNAPSHOT_COUNT = 0;
+
+    private static final int PARSE_COUNT = 1;
+
+    private static final int SKIPPED_PARSE_COUNT = 2;
+
+    private static final int SKIPPED_BIND_COUNT = 3;
+
+    private static final int DOCUMENT_CACHE_HIT_COUNT = 4;
+
+    private static final int DOCUMENT_CACHE_MISS_COUNT = 5;
+
+    private static final int STALE_ELEMENT_RECOVERY_COUNT = 6;
+
+    private static final int STALE_ELEMENT_FAILURE_COUNT = 7;
+
+    private static final int PRE_CHECK_REJECTION_COUNT = 8;
+
+    private static final int LOOKUP_CACHE_HIT_COUNT = 9;
+
+    private static final int LOOKUP_CACHE_MISS_COUNT = 10;
+
+    private static final int INCREMENTAL_REBIND_COUNT = 11;
+
+    private static final int FULL_REBIND_COUNT = 12;
+
+    private static final int COMPRESSED_SNAPSHOT_COUNT = 13;
+
+    private static final int COMPRESSED_SNAPSHOT_HTML_LENGTH = 14;
+
+    private static final int COMPRESSED_SNAPSHOT_TRANSFER_LENGTH = 15;
+
+    private static final int COUNTER_COUNT = 16;
+
+    private final AtomicLongArray[] _stripes;
+
+    SeleniumFormBinderStatistics() {
+        super();
+        _stripes = new AtomicLongArray[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            _stripes[i] = new AtomicLongArray(COUNTER_COUNT);
+        }
+    }
+
+    /**
+     * Get the number of the page snapshots taken.
+     *
+     * @return the number of the page snapshots taken.
+     */
+    public long getSnapshotCount() {
+        return getCounter(SNAPSHOT_COUNT);
+    }
+
+    /**
+     * Get the number of the page snapshots parsed.
+     *
+     * @return the number of the page snapshots parsed.
+     */
+    public long getParseCount() {
+        return getCounter(PARSE_COUNT);
+    }
+
+    /**
+     * Get the number of the page snapshots, that were not parsed, because the page did not change since the previous snapshot.
+     *
+     * @return the number of the page snapshots, that were not parsed.
+     */
+    public long getSkippedParseCount() {
+        return getCounter(SKIPPED_PARSE_COUNT);
+    }
+
+    /**
+     * Get the number of the bind attempts, that were not performed, because the page did not change since the previous failed attempt.
+     *
+     * @return the number of the bind attempts, that were not performed.
+     */
+    public long getSkippedBindCount() {
+        return getCounter(SKIPPED_BIND_COUNT);
+    }
+
+    /**
+     * Get the number of the documents, that were obtained from the document cache instead of parsing.
+     *
+     * @return the number of the documents, that were obtained from the document cache.
+     */
+    public long getDocumentCacheHitCount() {
+        return getCounter(DOCUMENT_CACHE_HIT_COUNT);
+    }
+
+    /**
+     * Get the number of the documents, that were not found in the document cache and were parsed.
+     *
+     * @return the number of the documents, that were not found in the document cache.
+     */
+    public long getDocumentCacheMissCount() {
+        return getCounter(DOCUMENT_CACHE_MISS_COUNT);
+    }
+
+    /**
+     * Get the number of the stale web elements, that were resolved again.
+     *
+     * @return the number of the stale web elements, that were resolved again.
+     */
+    public long getStaleElementRecoveryCount() {
+        return getCounter(STALE_ELEMENT_RECOVERY_COUNT);
+    }
+
+    /**
+     * Get the number of the web element actions, that failed because the web element was still stale after all retries.
+     *
+     * @return the number of the web element actions, that failed because the web element was stale.
+     */
+    public long getStaleElementFailureCount() {
+        return getCounter(STALE_ELEMENT_FAILURE_COUNT);
+    }
+
+    /**
+     * Get the number of the page snapshots, that were not parsed, because the root lookup signature was not found.
+     *
+     * @return the number of the page snapshots, that were rejected by the pre-check.
+     */
+    public long getPreCheckRejectionCount() {
+        return getCounter(PRE_CHECK_REJECTION_COUNT);
+    }
+
+    /**
+     * Get the number of the lookups, performed with the cached compiled lookup expression.
+     *
+     * @return the number of the lookups, performed with the cached compiled lookup expression.
+     */
+    public long getLookupCacheHitCount() {
+        return getCounter(LOOKUP_CACHE_HIT_COUNT);
+    }
+
+    /**
+     * Get the number of the lookups, performed with the newly compiled lookup expression.
+     *
+     * @return the number of the lookups, performed with the newly compiled lookup expression.
+     */
+    public long getLookupCacheMissCount() {
+        return getCounter(LOOKUP_CACHE_MISS_COUNT);
+    }
+
+    /**
+     * Get the number of the rebinds with the DOM changes applied to the previous document.
+     *
+     * @return the number of the rebinds with the DOM changes applied to the previous document.
+     */
+    public long getIncrementalRebindCount() {
+        return getCounter(INCREMENTAL_REBIND_COUNT);
+    }
+
+    /**
+     * Get the number of the rebinds with the new page snapshot.
+     *
+     * @return the number of the rebinds with the new page snapshot.
+     */
+    public long getFullRebindCount() {
+        return getCounter(FULL_REBIND_COUNT);
+    }
+
+    /**
+     * Get the number of the page snapshots, transferred compressed.
+     *
+     * @return the number of the page snapshots, transferred compressed.
+     */
+    public long getCompressedSnapshotCount() {
+        return getCounter(COMPRESSED_SNAPSHOT_COUNT);
+    }
+
+    /**
+     * Get the total length of the serialized DOM of the page snapshots, transferred compressed.
+     *
+     * @return the total length of the serialized DOM.
+     */
+    public long getCompressedSnapshotHtmlLength() {
+        return getCounter(COMPRESSED_SNAPSHOT_HTML_LENGTH);
+    }
+
+    /**
+     * Get the total length of the compressed and encoded serialized DOM of the page snapshots, transferred
+     * compressed. The difference with {@link #getCompressedSnapshotHtmlLength()} is the transfer saving.
+     *
+     * @return the total length of the transferred content.
+     */
+    public long getCompressedSnapshotTransferLength() {
+        return getCounter(COMPRESSED_SNAPSHOT_TRANSFER_LENGTH);
+    }
+
+    void incrementSnapshotCount() {
+        addCounter(SNAPSHOT_COUNT, 1);
+    }
+
+    void incrementParseCount() {
+        addCounter(PARSE_COUNT, 1);
+    }
+
+    void incrementSkippedParseCount() {
+        addCounter(SKIPPED_PARSE_COUNT, 1);
+    }
+
+    void incrementSkippedBindCount() {
+        addCounter(SKIPPED_BIND_COUNT, 1);
+    }
+
+    void incrementDocumentCacheHitCount() {
+        addCounter(DOCUMENT_CACHE_HIT_COUNT, 1);
+    }
+
+    void incrementDocumentCacheMissCount() {
+        addCounter(DOCUMENT_CACHE_MISS_COUNT, 1);
+    }
+
+    void incrementStaleElementRecoveryCount() {
+        addCounter(STALE_ELEMENT_RECOVERY_COUNT, 1);
+    }
+
+    void incrementStaleElementFailureCount() {
+        addCounter(STALE_ELEMENT_FAILURE_COUNT, 1);
+    }
+
+    void incrementPreCheckRejectionCount() {
+        addCounter(PRE_CHECK_REJECTION_COUNT, 1);
+    }
+
+    void incrementLookupCacheHitCount() {
+        addCounter(LOOKUP_CACHE_HIT_COUNT, 1);
+    }
+
+    void incrementLookupCacheMissCount() {
+        addCounter(LOOKUP_CACHE_MISS_COUNT, 1);
+    }
+
+    void incrementIncrementalRebindCount() {
+        addCounter(INCREMENTAL_REBIND_COUNT, 1);
+    }
+
+    void incrementFullRebindCount() {
+        addCounter(FULL_REBIND_COUNT, 1);
+    }
+
+    void addCompressedSnapshot(final int htmlLength, final int transferLength) {
+        addCounter(COMPRESSED_SNAPSHOT_COUNT, 1);
+        addCounter(COMPRESSED_SNAPSHOT_HTML_LENGTH, htmlLength);
+        addCounter(COMPRESSED_SNAPSHOT_TRANSFER_LENGTH, transferLength);
+    }
+
+    private long getCounter(final int counter) {
+        long value = 0;
+        for (AtomicLongArray stripe : _stripes) {
+            value += stripe.get(counter);
+        }
+        return value;
+    }
+
+    private void addCounter(final int counter, final long delta) {
+        _stripes[getStripeIndex()].addAndGet(counter, delta);
+    }
+
+    private static int getStripeIndex() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ id >>> 32) & STRIPE_COUNT - 1;
+    }
+
+}
@@ -19,6 +19,15 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding.selenium;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import ru.d_shap.fm.formmodel.Messages;
 import ru.d_shap.fm.formmodel.binding.FormBinder;
 import ru.d_shap.fm.formmodel.binding.FormBindingException;
@@ -35,50 +44,380 @@ final class SeleniumFormBinderWait<T> {
 
     private final FormBinder _formBinder;
 
-    private final SeleniumBindingSource _seleniumBindingSource;
+    private final SeleniumBindingSourceImpl _seleniumBindingSource;
 
     private final BindAttempt<T> _bindAttempt;
 
     private final FormDefinition _formDefinition;
 
-    private final long _timeOutInSeconds;
+    private final SeleniumWaitStrategy _waitStrategy;
 
-    private final long _sleepInMillis;
+    private final SeleniumDomChangeWait _domChangeWait;
 
-    SeleniumFormBinderWait(final FormBinder formBinder, final SeleniumBindingSource seleniumBindingSource, final BindAttempt<T> bindAttempt, final FormDefinition formDefinition, final long timeOutInSeconds, final long sleepInMillis) {
+    SeleniumFormBinderWait(final FormBinder formBinder, final SeleniumBindingSourceImpl seleniumBindingSource, final BindAttempt<T> bindAttempt, final FormDefinition formDefinition, final SeleniumWaitStrategy waitStrategy) {
         super();
         _formBinder = formBinder;
         _seleniumBindingSource = seleniumBindingSource;
         _bindAttempt = bindAttempt;
         _formDefinition = formDefinition;
-        _timeOutInSeconds = timeOutInSeconds;
-        _sleepInMillis = sleepInMillis;
+        _waitStrategy = waitStrategy;
+        if (waitStrategy instanceof SeleniumWaitStrategies.DomChangeWaitStrategy) {
+            _domChangeWait = new SeleniumDomChangeWait(seleniumBindingSource.getWebDriver());
+        } else {
+            _domChangeWait = null;
+        }
     }
 
     T bind() {
-        long endTimeMillis = System.currentTimeMillis() + _timeOutInSeconds * 1000;
-        FormBindingException lastFormBindingException = null;
-        while (true) {
+        long startTimeNanos = System.nanoTime();
+        AttemptState<T> attemptState = new AttemptState<>(!_seleniumBindingSource.hasChangedDocument());
+        fireBindStarted();
+        try {
+            while (true) {
+                if (nextAttempt(attemptState)) {
+                    fireBindFinished(attemptState, startTimeNanos, null);
+                    return attemptState._result;
+                }
+                long remainingNanos = getRemainingNanos(startTimeNanos);
+                if (hasNextAttempt(attemptState, remainingNanos)) {
+                    long pauseStartTimeNanos = System.nanoTime();
+                    try {
+                        attemptState._pageCouldChange = pause(attemptState._attempt, remainingNanos);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    } finally {
+                        attemptState._waitTimeInNanos += System.nanoTime() - pauseStartTimeNanos;
+                    }
+                } else {
+                    if (lastAttempt(attemptState)) {
+                        fireBindFinished(attemptState, startTimeNanos, null);
+                        return attemptState._result;
+                    }
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            fireBindFinished(attemptState, startTimeNanos, ex);
+            throw ex;
+        }
+        FormBindingException formBindingException = getFormBindingException(attemptState);
+        fireBindFinished(attemptState, startTimeNanos, formBindingException);
+        throw formBindingException;
+    }
+
+    /**
+     * Bind the form asynchronously. Every bind attempt is scheduled with the specified executor service,
+     * so no thread is blocked between the bind attempts. The DOM change wait strategy falls back to the
+     * wrapped wait strategy, since the asynchronous script blocks the thread, that executes it.
+     *
+     * @param scheduledExecutorService the executor service to schedule the bind attempts.
+     *
+     * @return the future result of the binding.
+     */
+    Future<T> bindAsync(final ScheduledExecutorService scheduledExecutorService) {
+        AsyncBind asyncBind = new AsyncBind(scheduledExecutorService);
+        asyncBind.schedule(0L);
+        return asyncBind;
+    }
+
+    private boolean nextAttempt(final AttemptState<T> attemptState) {
+        attemptState._attempt++;
+        boolean pageChanged = attemptState._pageCouldChange && _seleniumBindingSource.nextPageSnapshot();
+        if (_seleniumBindingSource.isPageLoading()) {
+            attemptState._pageLoading = true;
+            _seleniumBindingSource.getContext().getStatistics().incrementSkippedBindCount();
+            return false;
+        }
+        if (pageChanged || attemptState._pageLoading || attemptState._lastFormBindingException == null) {
+            attemptState._pageLoading = false;
+            return tryBind(attemptState);
+        } else {
+            _seleniumBindingSource.getContext().getStatistics().incrementSkippedBindCount();
+            return false;
+        }
+    }
+
+    /**
+     * Bind the form after the last bind attempt, if the last bind attempts were skipped, because the
+     * document was still loading. The partially loaded document is bound, since no more bind attempts
+     * are available.
+     *
+     * @param attemptState the state of the bind attempts.
+     *
+     * @return true if the form is bound.
+     */
+    private boolean lastAttempt(final AttemptState<T> attemptState) {
+        if (attemptState._pageLoading) {
+            attemptState._pageLoading = false;
+            return tryBind(attemptState);
+        } else {
+            return false;
+        }
+    }
+
+    private boolean tryBind(final AttemptState<T> attemptState) {
+        try {
+            attemptState._result = _bindAttempt.tryBind(_formBinder, _seleniumBindingSource);
+            return true;
+        } catch (FormBindingException ex) {
+            attemptState._lastFormBindingException = ex;
+            return false;
+        }
+    }
+
+    private long getRemainingNanos(final long startTimeNanos) {
+        return _waitStrategy.getTimeOutInNanos() - (System.nanoTime() - startTimeNanos);
+    }
+
+    private boolean hasNextAttempt(final AttemptState<T> attemptState, final long remainingNanos) {
+        return attemptState._attempt < _waitStrategy.getMaxAttempts() && remainingNanos > 0;
+    }
+
+    private long getSleepInNanos(final int attempt, final long remainingNanos) {
+        return Math.min(_waitStrategy.getSleepInNanos(attempt), remainingNanos);
+    }
+
+    private FormBindingException getFormBindingException(final AttemptState<T> attemptState) {
+        if (attemptState._lastFormBindingException == null) {
+            return new FormBindingException(Messages.Binding.getFormIsNotPresentMessage(_formDefinition));
+        } else {
+            return attemptState._lastFormBindingException;
+        }
+    }
+
+    private void fireBindStarted() {
+        _seleniumBindingSource.getContext().getBindListener().bindStarted(_seleniumBindingSource.getWebDriver(), _formDefinition);
+    }
+
+    private void fireBindFinished(final AttemptState<T> attemptState, final long startTimeNanos, final RuntimeException exception) {
+        long durationInNanos = System.nanoTime() - startTimeNanos;
+        _seleniumBindingSource.getContext().getBindListener().bindFinished(_seleniumBindingSource.getWebDriver(), _formDefinition, attemptState._attempt, attemptState._waitTimeInNanos, durationInNanos, exception);
+    }
+
+    private boolean pause(final int attempt, final long remainingNanos) throws InterruptedException {
+        long sleepInNanos = getSleepInNanos(attempt, remainingNanos);
+        if (_domChangeWait == null) {
+            TimeUnit.NANOSECONDS.sleep(sleepInNanos);
+            return true;
+        } else {
+            return _domChangeWait.await(remainingNanos, sleepInNanos);
+        }
+    }
+
+    /**
+     * The state of the bind attempts.
+     *
+     * @param <T> the generic type of the result.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class AttemptState<T> {
+
+        private int _attempt;
+
+        private boolean _pageCouldChange;
+
+        private boolean _pageLoading;
+
+        private T _result;
+
+        private FormBindingException _lastFormBindingException;
+
+        private long _waitTimeInNanos;
+
+        AttemptState(final boolean pageCouldChange) {
+            super();
+            _attempt = 0;
+            _pageCouldChange = pageCouldChange;
+            _pageLoading = false;
+            _result = null;
+            _lastFormBindingException = null;
+            _waitTimeInNanos = 0L;
+        }
+
+    }
+
+    /**
+     * Asynchronous bind. Every bind attempt is a separate task of the executor service. The next bind
+     * attempt is scheduled after the pause of the wait strategy. The cancellation removes the scheduled
+     * bind attempt, so the wait is aborted without waiting for the pause to complete.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private final class AsyncBind implements Runnable, Future<T> {
+
+        private final ScheduledExecutorService _scheduledExecutorService;
+
+        private final AttemptState<T> _attemptState;
+
+        private final CountDownLatch _doneLatch;
+
+        private long _startTimeNanos;
+
+        private Future<?> _scheduledFuture;
+
+        private boolean _running;
+
+        private boolean _done;
+
+        private boolean _cancelled;
+
+        private T _result;
+
+        private RuntimeException _exception;
+
+        AsyncBind(final ScheduledExecutorService scheduledExecutorService) {
+            super();
+            _scheduledExecutorService = scheduledExecutorService;
+            _attemptState = new AttemptState<>(!_seleniumBindingSource.hasChangedDocument());
+            _doneLatch = new CountDownLatch(1);
+            _startTimeNanos = 0L;
+            _scheduledFuture = null;
+            _running = false;
+            _done = false;
+            _cancelled = false;
+            _result = null;
+            _exception = null;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (_done) {
+                    return;
+                }
+                if (_attemptState._attempt == 0) {
+                    _startTimeNanos = System.nanoTime();
+                    fireBindStarted();
+                }
+                _running = true;
+            }
             try {
-                return _bindAttempt.tryBind(_formBinder, _seleniumBindingSource);
-            } catch (FormBindingException ex) {
-                lastFormBindingException = ex;
+                runAttempt();
+            } finally {
+                boolean cancelled;
+                synchronized (this) {
+                    _running = false;
+                    cancelled = _cancelled;
+                }
+                if (cancelled) {
+                    fireBindFinished(_attemptState, _startTimeNanos, new CancellationException());
+                }
             }
-            if (System.currentTimeMillis() < endTimeMillis) {
-                try {
-                    Thread.sleep(_sleepInMillis);
-                } catch (InterruptedException ex) {
-                    break;
+        }
+
+        private void runAttempt() {
+            try {
+                if (nextAttempt(_attemptState)) {
+                    complete(_attemptState._result, null);
+                    return;
+                }
+                long remainingNanos = getRemainingNanos(_startTimeNanos);
+                if (hasNextAttempt(_attemptState, remainingNanos)) {
+                    long sleepInNanos = getSleepInNanos(_attemptState._attempt, remainingNanos);
+                    _attemptState._pageCouldChange = true;
+                    _attemptState._waitTimeInNanos += sleepInNanos;
+                    schedule(sleepInNanos);
+                } else if (lastAttempt(_attemptState)) {
+                    complete(_attemptState._result, null);
+                } else {
+                    complete(null, getFormBindingException(_attemptState));
                 }
+            } catch (RuntimeException ex) {
+                complete(null, ex);
+            }
+        }
+
+        void schedule(final long delayInNanos) {
+            synchronized (this) {
+                if (!_done) {
+                    try {
+                        _scheduledFuture = _scheduledExecutorService.schedule(this, delayInNanos, TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException ex) {
+                        complete(null, ex);
+                    }
+                }
+            }
+        }
+
+        private void complete(final T result, final RuntimeException exception) {
+            synchronized (this) {
+                if (_done) {
+                    return;
+                }
+                _done = true;
+                _result = result;
+                _exception = exception;
+                _scheduledFuture = null;
+            }
+            fireBindFinished(_attemptState, _startTimeNanos, exception);
+            _doneLatch.countDown();
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean fireBindFinished;
+            synchronized (this) {
+                if (_done) {
+                    return false;
+                }
+                _done = true;
+                _cancelled = true;
+                if (_scheduledFuture != null) {
+                    _scheduledFuture.cancel(mayInterruptIfRunning);
+                    _scheduledFuture = null;
+                }
+                fireBindFinished = !_running && _attemptState._attempt > 0;
+            }
+            if (fireBindFinished) {
+                fireBindFinished(_attemptState, _startTimeNanos, new CancellationException());
+            }
+            _doneLatch.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            synchronized (this) {
+                return _cancelled;
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            synchronized (this) {
+                return _done;
+            }
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            _doneLatch.await();
+            return getResult();
+        }
+
+        @Override
+        public T get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (_doneLatch.await(timeout, unit)) {
+                return getResult();
             } else {
-                break;
+                throw new TimeoutException();
             }
         }
-        if (lastFormBindingException == null) {
-            throw new FormBindingException(Messages.Binding.getFormIsNotPresentMessage(_formDefinition));
-        } else {
-            throw lastFormBindingException;
+
+        private T getResult() throws ExecutionException {
+            synchronized (this) {
+                if (_cancelled) {
+                    throw new CancellationException();
+                }
+                if (_exception != null) {
+                    throw new ExecutionException(_exception);
+                }
+                return _result;
+            }
         }
+
     }
 
     /**
@@ -0,0 +1,200 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Selenium form filler. Sets the values of many binded elements with one script call for every web driver.
+ * The binded elements inside the frames are filled with the web driver calls.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumFormFiller {
+
+    private static final String FILL_SCRIPT = "/* fm:fill */"
+        + "var elements = arguments[0];"
+        + "var values = arguments[1];"
+        + "var results = [];"
+        + "var nativeTypes = ['button', 'checkbox', 'file', 'image', 'radio', 'reset', 'submit'];"
+        + "for (var i = 0; i < elements.length; i++) {"
+        + "    var element = elements[i];"
+        + "    var value = values[i];"
+        + "    var filled = false;"
+        + "    if (element instanceof HTMLSelectElement) {"
+        + "        for (var j = 0; j < element.options.length; j++) {"
+        + "            var option = element.options[j];"
+        + "            if (option.text === value || option.value === value) {"
+        + "                element.selectedIndex = j;"
+        + "                filled = true;"
+        + "                break;"
+        + "            }"
+        + "        }"
+        + "    } else if (element instanceof HTMLTextAreaElement || element instanceof HTMLInputElement && nativeTypes.indexOf(element.type) < 0) {"
+        + "        var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');"
+        + "        if (descriptor && descriptor.set) {"
+        + "            descriptor.set.call(element, value);"
+        + "        } else {"
+        + "            element.value = value;"
+        + "        }"
+        + "        filled = true;"
+        + "    } else if (element.isContentEditable) {"
+        + "        element.textContent = value;"
+        + "        filled = true;"
+        + "    }"
+        + "    if (filled) {"
+        + "        element.dispatchEvent(new Event('input', {bubbles: true}));"
+        + "        element.dispatchEvent(new Event('change', {bubbles: true}));"
+        + "    }"
+        + "    results.push(filled);"
+        + "}"
+        + "return results;";
+
+    private static final char FIRST_KEY_CHAR = '\uE000';
+
+    private static final char LAST_KEY_CHAR = '\uE05D';
+
+    private SeleniumFormFiller() {
+        super();
+    }
+
+    static void fill(final Map<? extends SeleniumBindedElement, ? extends CharSequence> values, final Collection<? extends SeleniumBindedElement> nativeElements, final SeleniumFormBinderContext context) {
+        Map<WebDriver, List<SeleniumBindedElementImpl>> scriptBindedElements = new IdentityHashMap<>();
+        List<SeleniumBindedElement> nativeBindedElements = new ArrayList<>();
+        for (Map.Entry<? extends SeleniumBindedElement, ? extends CharSequence> entry : values.entrySet()) {
+            SeleniumBindedElement bindedElement = entry.getKey();
+            if (isScriptFillable(bindedElement, entry.getValue(), nativeElements)) {
+                WebDriver webDriver = bindedElement.getWebDriver();
+                List<SeleniumBindedElementImpl> webDriverBindedElements = scriptBindedElements.get(webDriver);
+                if (webDriverBindedElements == null) {
+                    webDriverBindedElements = new ArrayList<>();
+                    scriptBindedElements.put(webDriver, webDriverBindedElements);
+                }
+                webDriverBindedElements.add((SeleniumBindedElementImpl) bindedElement);
+            } else {
+                nativeBindedElements.add(bindedElement);
+            }
+        }
+        for (Map.Entry<WebDriver, List<SeleniumBindedElementImpl>> entry : scriptBindedElements.entrySet()) {
+            try {
+                fillWithScript((JavascriptExecutor) entry.getKey(), entry.getValue(), values, context);
+            } finally {
+                context.getDocumentCache().invalidate(entry.getKey());
+            }
+        }
+        for (SeleniumBindedElement bindedElement : nativeBindedElements) {
+            fillNative(bindedElement, values.get(bindedElement));
+        }
+    }
+
+    private static boolean isScriptFillable(final SeleniumBindedElement bindedElement, final CharSequence value, final Collection<? extends SeleniumBindedElement> nativeElements) {
+        if (!(bindedElement instanceof SeleniumBindedElementImpl) || !(bindedElement.getWebDriver() instanceof JavascriptExecutor)) {
+            return false;
+        }
+        if (nativeElements != null && nativeElements.contains(bindedElement)) {
+            return false;
+        }
+        SeleniumFramePath framePath = ((SeleniumBindedElementImpl) bindedElement).getFramePath();
+        if (framePath != null && !framePath.isTopLevel()) {
+            return false;
+        }
+        return !hasKeys(value);
+    }
+
+    private static boolean hasKeys(final CharSequence value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch >= FIRST_KEY_CHAR && ch <= LAST_KEY_CHAR) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void fillWithScript(final JavascriptExecutor javascriptExecutor, final List<SeleniumBindedElementImpl> bindedElements, final Map<? extends SeleniumBindedElement, ? extends CharSequence> values, final SeleniumFormBinderContext context) {
+        List<String> strings = new ArrayList<>(bindedElements.size());
+        for (SeleniumBindedElementImpl bindedElement : bindedElements) {
+            strings.add(getString(values.get(bindedElement)));
+        }
+        int retryCount = 0;
+        while (true) {
+            SeleniumWebElementResolver.resolveWebElements(bindedElements);
+            bindedElements.get(0).switchToFrame();
+            List<WebElement> webElements = new ArrayList<>(bindedElements.size());
+            for (SeleniumBindedElementImpl bindedElement : bindedElements) {
+                webElements.add(bindedElement.resolveWebElement());
+            }
+            try {
+                Object result = javascriptExecutor.executeScript(FILL_SCRIPT, webElements, strings);
+                fillNotFilled(bindedElements, strings, result);
+                return;
+            } catch (StaleElementReferenceException ex) {
+                if (retryCount >= context.getStaleElementRetryCount()) {
+                    context.getStatistics().incrementStaleElementFailureCount();
+                    throw ex;
+                }
+                retryCount++;
+                for (int i = 0; i < bindedElements.size(); i++) {
+                    bindedElements.get(i).clearStaleWebElement(webElements.get(i));
+                }
+                context.getStatistics().incrementStaleElementRecoveryCount();
+            }
+        }
+    }
+
+    private static void fillNotFilled(final List<SeleniumBindedElementImpl> bindedElements, final List<String> strings, final Object result) {
+        List<?> filled;
+        if (result instanceof List && ((List<?>) result).size() == bindedElements.size()) {
+            filled = (List<?>) result;
+        } else {
+            filled = null;
+        }
+        for (int i = 0; i < bindedElements.size(); i++) {
+            if (filled == null || !Boolean.TRUE.equals(filled.get(i))) {
+                fillNative(bindedElements.get(i), strings.get(i));
+            }
+        }
+    }
+
+    private static void fillNative(final SeleniumBindedElement bindedElement, final CharSequence value) {
+        bindedElement.clear();
+        bindedElement.sendKeys(getString(value));
+    }
+
+    private static String getString(final CharSequence value) {
+        if (value == null) {
+            return "";
+        } else {
+            return value.toString();
+        }
+    }
+
+}
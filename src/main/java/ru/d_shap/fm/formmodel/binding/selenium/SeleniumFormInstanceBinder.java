@@ -45,13 +45,20 @@ import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
  */
 public final class SeleniumFormInstanceBinder implements FormInstanceBinder {
 
+    private final SeleniumFormBinderContext _context;
+
     private final HtmlFormInstanceBinder _htmlFormInstanceBinder;
 
     /**
      * Create new object.
      */
     public SeleniumFormInstanceBinder() {
+        this(new SeleniumFormBinderContext());
+    }
+
+    SeleniumFormInstanceBinder(final SeleniumFormBinderContext context) {
         super();
+        _context = context;
         _htmlFormInstanceBinder = new HtmlFormInstanceBinder();
     }
 
@@ -77,19 +84,49 @@ public final class SeleniumFormInstanceBinder implements FormInstanceBinder {
 
     @Override
     public List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition) {
+        long startTimeNanos = System.nanoTime();
         List<BindedElement> bindedElements = _htmlFormInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+        long durationInNanos = System.nanoTime() - startTimeNanos;
         List<BindedElement> seleniumBindedElements = new ArrayList<>();
         if (bindedElements != null) {
+            String markerGeneration = getMarkerGeneration(bindingSource);
+            String frameLookup = getFrameLookup(bindingSource);
+            boolean shadowRootsIncluded = isShadowRootsIncluded(bindingSource);
             for (BindedElement bindedElement : bindedElements) {
                 if (bindedElement instanceof HtmlBindedElement) {
-                    SeleniumBindedElement seleniumBindedElement = new SeleniumBindedElementImpl(((SeleniumBindingSource) bindingSource).getWebDriver(), (HtmlBindedElement) bindedElement);
+                    SeleniumBindedElement seleniumBindedElement = new SeleniumBindedElementImpl(((SeleniumBindingSource) bindingSource).getWebDriver(), (HtmlBindedElement) bindedElement, _context, markerGeneration, frameLookup, shadowRootsIncluded);
                     seleniumBindedElements.add(seleniumBindedElement);
                 }
             }
         }
+        _context.getBindListener().elementDefinitionBinded(((SeleniumBindingSource) bindingSource).getWebDriver(), elementDefinition, seleniumBindedElements.size(), durationInNanos);
         return seleniumBindedElements;
     }
 
+    private String getMarkerGeneration(final BindingSource bindingSource) {
+        if (bindingSource instanceof SeleniumBindingSourceImpl) {
+            return ((SeleniumBindingSourceImpl) bindingSource).getMarkerGeneration();
+        } else {
+            return null;
+        }
+    }
+
+    private String getFrameLookup(final BindingSource bindingSource) {
+        if (bindingSource instanceof SeleniumBindingSourceImpl) {
+            return ((SeleniumBindingSourceImpl) bindingSource).getFrameLookup();
+        } else {
+            return null;
+        }
+    }
+
+    private boolean isShadowRootsIncluded(final BindingSource bindingSource) {
+        if (bindingSource instanceof SeleniumBindingSourceImpl) {
+            return ((SeleniumBindingSourceImpl) bindingSource).isShadowRootsIncluded();
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition) {
         BindedAttribute bindedAttribute = _htmlFormInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
@@ -0,0 +1,201 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The path of the frame of the binded element. The content of the frames is added to the page snapshot
+ * after the content of the page as the frame elements with the index of the frame among the frames,
+ * matching the frame lookup. The web driver is switched to the frame by these indices, starting from the
+ * top-level browsing context, so the web driver's page is not modified. The current browsing context of
+ * the web driver is checked before the switch, so the frames, switched by other code, are detected.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumFramePath {
+
+    static final String FRAME_TAG = "fm-frame";
+
+    static final String FRAME_ATTRIBUTE = "data-fm-frame";
+
+    private static final String FRAME_BODY_SELECTOR = "body > ";
+
+    private static final String FRAME_PATH_SCRIPT = "/* fm:frame-path */"
+        + "var frameIndices = [];"
+        + "try {"
+        + "    for (var current = window; current !== window.top; current = current.parent) {"
+        + "        var frameElement = current.frameElement;"
+        + "        if (!frameElement) {"
+        + "            return null;"
+        + "        }"
+        + "        var frameIndex = Array.prototype.indexOf.call(current.parent.document.querySelectorAll(arguments[0]), frameElement);"
+        + "        if (frameIndex < 0) {"
+        + "            return null;"
+        + "        }"
+        + "        frameIndices.unshift(frameIndex);"
+        + "    }"
+        + "} catch (e) {"
+        + "    return null;"
+        + "}"
+        + "return frameIndices;";
+
+    private final String _frameLookup;
+
+    private final List<Integer> _frameIndices;
+
+    private SeleniumFramePath(final String frameLookup, final List<Integer> frameIndices) {
+        super();
+        _frameLookup = frameLookup;
+        _frameIndices = Collections.unmodifiableList(frameIndices);
+    }
+
+    /**
+     * Create the frame path of the specified element.
+     *
+     * @param element     the specified element.
+     * @param frameLookup the CSS selector of the frames, added to the page snapshot.
+     *
+     * @return the frame path or null if the frames are not added to the page snapshot.
+     */
+    static SeleniumFramePath create(final Element element, final String frameLookup) {
+        if (frameLookup == null) {
+            return null;
+        }
+        List<Integer> frameIndices = new ArrayList<>();
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            Integer frameIndex = getFrameIndex(parent);
+            if (frameIndex != null) {
+                frameIndices.add(0, frameIndex);
+            }
+        }
+        return new SeleniumFramePath(frameLookup, frameIndices);
+    }
+
+    /**
+     * Get the CSS selector of the specified element inside its frame.
+     *
+     * @param element     the specified element.
+     * @param cssSelector the CSS selector of the specified element in the page snapshot.
+     *
+     * @return the CSS selector of the specified element inside its frame.
+     */
+    static String getCssSelector(final Element element, final String cssSelector) {
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            if (getFrameIndex(parent) != null) {
+                String frameSelector = parent.cssSelector() + " > ";
+                if (cssSelector.startsWith(frameSelector)) {
+                    return FRAME_BODY_SELECTOR + cssSelector.substring(frameSelector.length());
+                } else {
+                    return cssSelector;
+                }
+            }
+        }
+        return cssSelector;
+    }
+
+    private static Integer getFrameIndex(final Element element) {
+        if (FRAME_TAG.equals(element.tagName()) && element.hasAttr(FRAME_ATTRIBUTE)) {
+            try {
+                return Integer.valueOf(element.attr(FRAME_ATTRIBUTE));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+    }
+
+    boolean isTopLevel() {
+        return _frameIndices.isEmpty();
+    }
+
+    /**
+     * Switch the web driver to the frame of this path, if the web driver is not in this frame. The web
+     * driver is always switched to the top-level browsing context, because this switch is not more
+     * expensive than the check.
+     *
+     * @param webDriver the web driver.
+     */
+    void switchTo(final WebDriver webDriver) {
+        if (!isTopLevel() && isSelected(webDriver)) {
+            return;
+        }
+        webDriver.switchTo().defaultContent();
+        for (Integer frameIndex : _frameIndices) {
+            List<WebElement> frames = webDriver.findElements(By.cssSelector(_frameLookup));
+            if (frameIndex >= frames.size()) {
+                throw new NoSuchFrameException("Frame is not found: " + _frameLookup + ", index " + frameIndex);
+            }
+            webDriver.switchTo().frame(frames.get(frameIndex));
+        }
+    }
+
+    private boolean isSelected(final WebDriver webDriver) {
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            return false;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) webDriver).executeScript(FRAME_PATH_SCRIPT, _frameLookup);
+        } catch (WebDriverException ex) {
+            return false;
+        }
+        if (!(result instanceof List) || ((List<?>) result).size() != _frameIndices.size()) {
+            return false;
+        }
+        List<?> frameIndices = (List<?>) result;
+        for (int i = 0; i < frameIndices.size(); i++) {
+            Object frameIndex = frameIndices.get(i);
+            if (!(frameIndex instanceof Number) || ((Number) frameIndex).intValue() != _frameIndices.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SeleniumFramePath)) {
+            return false;
+        }
+        SeleniumFramePath other = (SeleniumFramePath) obj;
+        return _frameLookup.equals(other._frameLookup) && _frameIndices.equals(other._frameIndices);
+    }
+
+    @Override
+    public int hashCode() {
+        return _frameLookup.hashCode() * 31 + _frameIndices.hashCode();
+    }
+
+}
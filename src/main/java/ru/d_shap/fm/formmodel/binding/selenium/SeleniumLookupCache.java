@@ -0,0 +1,279 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathVariableResolver;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import ru.d_shap.fm.formmodel.document.DocumentLookup;
+
+/**
+ * Selenium lookup cache. Contains the compiled XPath lookup expressions. The compiled expression is not
+ * thread-safe, so every lookup expression has the pool of the compiled expressions, and the compiled
+ * expression is used by one thread at a time. The cache is bounded by the number of the lookup expressions.
+ * The pools are kept in the concurrent map without the common lock, so the eviction is approximate: the
+ * lookup expression with the oldest last use time is evicted, and the concurrent evictions can evict more
+ * lookup expressions, than necessary. The cache is disabled by default. The lookups with the attribute value share
+ * the lookup expression of the attribute name, and the attribute value is passed as the XPath variable.
+ * If the lookup expression can not be compiled, then the lookup is performed by the document lookup.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumLookupCache {
+
+    private static final int DEFAULT_MAX_SIZE = 0;
+
+    private static final QName VALUE_VARIABLE = new QName("value");
+
+    private static final ThreadLocal<XPath> XPATH = new XPathThreadLocal();
+
+    private final DocumentLookup _documentLookup;
+
+    private final SeleniumFormBinderStatistics _statistics;
+
+    private final ExpressionPools _expressionPools;
+
+    private volatile int _maxSize;
+
+    SeleniumLookupCache(final DocumentLookup documentLookup, final SeleniumFormBinderStatistics statistics) {
+        super();
+        _documentLookup = documentLookup;
+        _statistics = statistics;
+        _expressionPools = new ExpressionPools();
+        _maxSize = DEFAULT_MAX_SIZE;
+    }
+
+    void setMaxSize(final int maxSize) {
+        _maxSize = maxSize;
+        _expressionPools.evict(maxSize);
+    }
+
+    int getSize() {
+        return _expressionPools.size();
+    }
+
+    List<Element> getElements(final Node node, final String lookup) {
+        if (_maxSize <= 0) {
+            return _documentLookup.getElements(node, lookup);
+        }
+        try {
+            return evaluate(node, lookup, null);
+        } catch (XPathExpressionException ex) {
+            return _documentLookup.getElements(node, lookup);
+        }
+    }
+
+    private static List<Element> getElements(final NodeList nodeList) {
+        List<Element> elements = new ArrayList<>(nodeList.getLength());
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node node = nodeList.item(i);
+            if (node instanceof Element) {
+                elements.add((Element) node);
+            }
+        }
+        return elements;
+    }
+
+    List<Element> getElementsWithAttribute(final Node node, final String attributeName, final String attributeValue) {
+        if (_maxSize <= 0 || !isAttributeName(attributeName)) {
+            return _documentLookup.getElementsWithAttribute(node, attributeName, attributeValue);
+        }
+        String lookup = ".//*[@" + attributeName + "=$" + VALUE_VARIABLE.getLocalPart() + "]";
+        try {
+            return evaluate(node, lookup, attributeValue);
+        } catch (XPathExpressionException ex) {
+            return _documentLookup.getElementsWithAttribute(node, attributeName, attributeValue);
+        }
+    }
+
+    private List<Element> evaluate(final Node node, final String lookup, final String value) throws XPathExpressionException {
+        Queue<CompiledExpression> pool = _expressionPools.getPool(lookup, _maxSize);
+        CompiledExpression compiledExpression = pool.poll();
+        if (compiledExpression == null) {
+            _statistics.incrementLookupCacheMissCount();
+            compiledExpression = new CompiledExpression(lookup);
+        } else {
+            _statistics.incrementLookupCacheHitCount();
+        }
+        List<Element> elements = compiledExpression.evaluate(node, value);
+        pool.offer(compiledExpression);
+        return elements;
+    }
+
+    private static boolean isAttributeName(final String attributeName) {
+        if (attributeName == null || attributeName.isEmpty()) {
+            return false;
+        }
+        char first = attributeName.charAt(0);
+        if (!Character.isLetter(first) && first != '_') {
+            return false;
+        }
+        for (int i = 1; i < attributeName.length(); i++) {
+            char ch = attributeName.charAt(i);
+            if (!Character.isLetterOrDigit(ch) && ch != '_' && ch != '-' && ch != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The pools of the compiled expressions with the approximate least recently used eviction.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ExpressionPools {
+
+        private final ConcurrentHashMap<String, ExpressionPool> _pools;
+
+        ExpressionPools() {
+            super();
+            _pools = new ConcurrentHashMap<>();
+        }
+
+        Queue<CompiledExpression> getPool(final String lookup, final int maxSize) {
+            ExpressionPool pool = _pools.get(lookup);
+            if (pool == null) {
+                ExpressionPool newPool = new ExpressionPool();
+                pool = _pools.putIfAbsent(lookup, newPool);
+                if (pool == null) {
+                    pool = newPool;
+                    evict(maxSize);
+                }
+            }
+            pool._lastUseTime = System.nanoTime();
+            return pool._compiledExpressions;
+        }
+
+        void evict(final int maxSize) {
+            while (_pools.size() > maxSize) {
+                Map.Entry<String, ExpressionPool> eldestEntry = null;
+                for (Map.Entry<String, ExpressionPool> entry : _pools.entrySet()) {
+                    if (eldestEntry == null || entry.getValue()._lastUseTime - eldestEntry.getValue()._lastUseTime < 0) {
+                        eldestEntry = entry;
+                    }
+                }
+                if (eldestEntry == null) {
+                    return;
+                }
+                _pools.remove(eldestEntry.getKey(), eldestEntry.getValue());
+            }
+        }
+
+        int size() {
+            return _pools.size();
+        }
+
+    }
+
+    /**
+     * The pool of the compiled expressions of the lookup expression with the last use time.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ExpressionPool {
+
+        private final Queue<CompiledExpression> _compiledExpressions;
+
+        private volatile long _lastUseTime;
+
+        ExpressionPool() {
+            super();
+            _compiledExpressions = new ConcurrentLinkedQueue<>();
+            _lastUseTime = System.nanoTime();
+        }
+
+    }
+
+    /**
+     * The compiled expression with its own variable resolver, so the variable value is set for the
+     * compiled expression without affecting other compiled expressions.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class CompiledExpression implements XPathVariableResolver {
+
+        private final XPathExpression _expression;
+
+        private String _value;
+
+        CompiledExpression(final String lookup) throws XPathExpressionException {
+            super();
+            XPath xpath = XPATH.get();
+            xpath.setXPathVariableResolver(this);
+            _expression = xpath.compile(lookup);
+            _value = null;
+        }
+
+        List<Element> evaluate(final Node node, final String value) throws XPathExpressionException {
+            _value = value;
+            try {
+                return getElements((NodeList) _expression.evaluate(node, XPathConstants.NODESET));
+            } finally {
+                _value = null;
+            }
+        }
+
+        @Override
+        public Object resolveVariable(final QName variableName) {
+            if (VALUE_VARIABLE.equals(variableName)) {
+                return _value;
+            } else {
+                return null;
+            }
+        }
+
+    }
+
+    /**
+     * The XPath object of the current thread. The XPath object is not thread-safe.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class XPathThreadLocal extends ThreadLocal<XPath> {
+
+        XPathThreadLocal() {
+            super();
+        }
+
+        @Override
+        protected XPath initialValue() {
+            return XPathFactory.newInstance().newXPath();
+        }
+
+    }
+
+}
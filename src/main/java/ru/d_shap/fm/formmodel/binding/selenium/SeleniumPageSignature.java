@@ -0,0 +1,308 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * The cheap signature of the form: the tag names, the attribute names and the attribute values, that the
+ * serialized DOM must contain if the form is present. The signature is collected from the root lookup and
+ * from the lookups of the required top-level elements of the form definition. The signature is checked
+ * with the substring search before the serialized DOM is parsed. Only the simple lookups are added to
+ * the signature: the type, ID, class and attribute selectors with the combinators. The lookups with
+ * the selector groups, the pseudo selectors, the escapes or the case-insensitive attribute values
+ * are skipped. The root lookup is matched by the browser, so its attribute values are searched
+ * case-sensitively. The element lookups are matched by JSoup, that ignores the case of the attribute
+ * values and the class names, so their attribute values are searched case-insensitively.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumPageSignature {
+
+    private static final String ID_ATTRIBUTE = "id";
+
+    private static final String CLASS_ATTRIBUTE = "class";
+
+    private static final char TAG_START = '<';
+
+    private final List<String> _tagNames;
+
+    private final List<String> _attributeNames;
+
+    private final List<String> _attributeValues;
+
+    private final List<String> _ignoreCaseAttributeValues;
+
+    private SeleniumPageSignature() {
+        super();
+        _tagNames = new ArrayList<>();
+        _attributeNames = new ArrayList<>();
+        _attributeValues = new ArrayList<>();
+        _ignoreCaseAttributeValues = new ArrayList<>();
+    }
+
+    /**
+     * Create the signature of the form.
+     *
+     * @param rootLookup     the CSS selector of the root elements or null if the root lookup is not set.
+     * @param formDefinition the form definition.
+     *
+     * @return the signature, that is empty if no lookup is simple.
+     */
+    static SeleniumPageSignature create(final String rootLookup, final FormDefinition formDefinition) {
+        List<String> elementLookups = new ArrayList<>();
+        for (ElementDefinition elementDefinition : formDefinition.getElementDefinitions()) {
+            CardinalityDefinition cardinalityDefinition = elementDefinition.getCardinalityDefinition();
+            if (cardinalityDefinition == CardinalityDefinition.REQUIRED || cardinalityDefinition == CardinalityDefinition.REQUIRED_MULTIPLE) {
+                elementLookups.add(elementDefinition.getLookup());
+            }
+        }
+        return create(rootLookup, elementLookups);
+    }
+
+    /**
+     * Create the signature of the root lookup and the lookups of the required elements.
+     *
+     * @param rootLookup     the CSS selector of the root elements or null if the root lookup is not set.
+     * @param elementLookups the lookups of the required top-level elements.
+     *
+     * @return the signature, that is empty if no lookup is simple.
+     */
+    static SeleniumPageSignature create(final String rootLookup, final List<String> elementLookups) {
+        SeleniumPageSignature pageSignature = new SeleniumPageSignature();
+        pageSignature.addLookup(rootLookup, false);
+        for (String elementLookup : elementLookups) {
+            pageSignature.addLookup(elementLookup, true);
+        }
+        return pageSignature;
+    }
+
+    /**
+     * Check if this signature has no parts, so every serialized DOM matches this signature.
+     *
+     * @return true if this signature has no parts.
+     */
+    boolean isEmpty() {
+        return _tagNames.isEmpty() && _attributeNames.isEmpty();
+    }
+
+    private void addLookup(final String lookup, final boolean ignoreCase) {
+        if (lookup == null) {
+            return;
+        }
+        SeleniumPageSignature lookupSignature = parseLookup(lookup);
+        if (lookupSignature == null) {
+            return;
+        }
+        for (String tagName : lookupSignature._tagNames) {
+            if (!_tagNames.contains(tagName)) {
+                _tagNames.add(tagName);
+            }
+        }
+        for (String attributeName : lookupSignature._attributeNames) {
+            if (!_attributeNames.contains(attributeName)) {
+                _attributeNames.add(attributeName);
+            }
+        }
+        List<String> attributeValues;
+        if (ignoreCase) {
+            attributeValues = _ignoreCaseAttributeValues;
+        } else {
+            attributeValues = _attributeValues;
+        }
+        for (String attributeValue : lookupSignature._attributeValues) {
+            if (!attributeValues.contains(attributeValue)) {
+                attributeValues.add(attributeValue);
+            }
+        }
+    }
+
+    private static SeleniumPageSignature parseLookup(final String lookup) {
+        SeleniumPageSignature pageSignature = new SeleniumPageSignature();
+        int length = lookup.length();
+        int index = 0;
+        while (index < length) {
+            char ch = lookup.charAt(index);
+            if (Character.isWhitespace(ch) || ch == '>' || ch == '+' || ch == '~') {
+                index++;
+            } else if (ch == '#' || ch == '.') {
+                int end = getIdentifierEnd(lookup, index + 1);
+                if (end == index + 1) {
+                    return null;
+                }
+                String value = lookup.substring(index + 1, end);
+                if (ch == '#') {
+                    pageSignature.addAttribute(ID_ATTRIBUTE, value);
+                } else {
+                    pageSignature.addAttribute(CLASS_ATTRIBUTE, value);
+                }
+                index = end;
+            } else if (ch == '[') {
+                int end = lookup.indexOf(']', index);
+                if (end < 0 || !pageSignature.addAttributeSelector(lookup.substring(index + 1, end))) {
+                    return null;
+                }
+                index = end + 1;
+            } else if (isIdentifierChar(ch)) {
+                int end = getIdentifierEnd(lookup, index);
+                pageSignature._tagNames.add(TAG_START + lookup.substring(index, end).toLowerCase(Locale.ENGLISH));
+                index = end;
+            } else {
+                return null;
+            }
+        }
+        if (pageSignature._tagNames.isEmpty() && pageSignature._attributeNames.isEmpty()) {
+            return null;
+        } else {
+            return pageSignature;
+        }
+    }
+
+    private static int getIdentifierEnd(final String lookup, final int start) {
+        int index = start;
+        while (index < lookup.length() && isIdentifierChar(lookup.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isIdentifierChar(final char ch) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch >= '0' && ch <= '9' || ch == '-' || ch == '_';
+    }
+
+    private boolean addAttributeSelector(final String attributeSelector) {
+        int operatorIndex = attributeSelector.indexOf('=');
+        if (operatorIndex < 0) {
+            String name = attributeSelector.trim();
+            if (name.isEmpty() || getIdentifierEnd(name, 0) != name.length()) {
+                return false;
+            }
+            addAttribute(name, null);
+            return true;
+        }
+        int nameEnd = operatorIndex;
+        if (nameEnd > 0 && "~|^$*".indexOf(attributeSelector.charAt(nameEnd - 1)) >= 0) {
+            nameEnd--;
+        }
+        String name = attributeSelector.substring(0, nameEnd).trim();
+        String value = attributeSelector.substring(operatorIndex + 1).trim();
+        if (name.isEmpty() || getIdentifierEnd(name, 0) != name.length()) {
+            return false;
+        }
+        if (value.length() >= 2 && (value.charAt(0) == '\'' || value.charAt(0) == '"') && value.charAt(value.length() - 1) == value.charAt(0)) {
+            value = value.substring(1, value.length() - 1);
+        } else if (getIdentifierEnd(value, 0) != value.length()) {
+            return false;
+        }
+        if (value.isEmpty() || !isSerializedAsIs(value)) {
+            addAttribute(name, null);
+        } else {
+            addAttribute(name, value);
+        }
+        return true;
+    }
+
+    private static boolean isSerializedAsIs(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '&' || ch == '<' || ch == '>' || ch == '"' || ch == '\'' || ch == '\\' || ch > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addAttribute(final String name, final String value) {
+        String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+        if (!_attributeNames.contains(lowerCaseName)) {
+            _attributeNames.add(lowerCaseName);
+        }
+        if (value != null) {
+            _attributeValues.add(value);
+        }
+    }
+
+    /**
+     * Check if the serialized DOM contains all parts of this signature. If the serialized DOM does not
+     * contain some part, then the form is not present. If the serialized DOM contains all parts, then
+     * the form could be present.
+     *
+     * @param html the serialized DOM.
+     *
+     * @return false if the form is not present.
+     */
+    boolean matches(final String html) {
+        for (String attributeValue : _attributeValues) {
+            if (html.indexOf(attributeValue) < 0) {
+                return false;
+            }
+        }
+        for (String attributeValue : _ignoreCaseAttributeValues) {
+            if (html.indexOf(attributeValue) < 0 && !containsIgnoreCase(html, attributeValue)) {
+                return false;
+            }
+        }
+        for (String tagName : _tagNames) {
+            if (!containsTag(html, tagName)) {
+                return false;
+            }
+        }
+        for (String attributeName : _attributeNames) {
+            if (html.indexOf(attributeName) < 0 && !containsIgnoreCase(html, attributeName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsTag(final String html, final String tagName) {
+        if (html.indexOf(tagName) >= 0) {
+            return true;
+        }
+        int index = html.indexOf(TAG_START);
+        while (index >= 0) {
+            if (html.regionMatches(true, index, tagName, 0, tagName.length())) {
+                return true;
+            }
+            index = html.indexOf(TAG_START, index + 1);
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(final String html, final String value) {
+        int length = html.length() - value.length();
+        char lowerCaseFirst = Character.toLowerCase(value.charAt(0));
+        char upperCaseFirst = Character.toUpperCase(value.charAt(0));
+        for (int i = 0; i <= length; i++) {
+            char ch = html.charAt(i);
+            if ((ch == lowerCaseFirst || ch == upperCaseFirst) && html.regionMatches(true, i, value, 0, value.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
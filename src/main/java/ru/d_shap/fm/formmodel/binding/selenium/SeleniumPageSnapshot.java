@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+/**
+ * The snapshot of the web driver's page: the serialized DOM, the base URL and the document state.
+ * The serialized DOM is transferred either as is or compressed with gzip and encoded with base64. The
+ * compressed serialized DOM is decompressed, when the snapshot is taken, and is identified by the
+ * transferred content.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumPageSnapshot {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String LOADING_READY_STATE = "loading";
+
+    private final String _html;
+
+    private final String _compressedHtml;
+
+    private final int _htmlLength;
+
+    private final String _baseUrl;
+
+    private final String _readyState;
+
+    private final String _markerGeneration;
+
+    private final String _changeGeneration;
+
+    private final long _fingerprint;
+
+    SeleniumPageSnapshot(final String html, final String baseUrl, final String readyState, final String markerGeneration, final String changeGeneration) {
+        super();
+        _html = html;
+        _compressedHtml = null;
+        _htmlLength = html.length();
+        _baseUrl = baseUrl;
+        _readyState = readyState;
+        _markerGeneration = markerGeneration;
+        _changeGeneration = changeGeneration;
+        _fingerprint = calculateFingerprint(html);
+    }
+
+    SeleniumPageSnapshot(final String html, final String compressedHtml, final String baseUrl, final String readyState, final String markerGeneration, final String changeGeneration) {
+        super();
+        _html = html;
+        _compressedHtml = compressedHtml;
+        _htmlLength = html.length();
+        _baseUrl = baseUrl;
+        _readyState = readyState;
+        _markerGeneration = markerGeneration;
+        _changeGeneration = changeGeneration;
+        _fingerprint = calculateFingerprint(compressedHtml);
+    }
+
+    private static long calculateFingerprint(final String content) {
+        long fingerprint = FNV_OFFSET_BASIS;
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            fingerprint ^= content.charAt(i);
+            fingerprint *= FNV_PRIME;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Get the serialized DOM, decompressed if the serialized DOM was transferred compressed.
+     *
+     * @return the serialized DOM.
+     */
+    String getHtml() {
+        return _html;
+    }
+
+    boolean isCompressed() {
+        return _compressedHtml != null;
+    }
+
+    /**
+     * Check if the serialized DOM was transferred compressed with the specified content, so the
+     * serialized DOM of this snapshot can be reused without the decompression.
+     *
+     * @param compressedHtml the specified compressed serialized DOM.
+     *
+     * @return true if the serialized DOM was transferred with the specified content.
+     */
+    boolean hasCompressedHtml(final String compressedHtml) {
+        return _compressedHtml != null && _compressedHtml.equals(compressedHtml);
+    }
+
+    /**
+     * Get the length of the serialized DOM, even if the serialized DOM is compressed.
+     *
+     * @return the length of the serialized DOM.
+     */
+    int getHtmlLength() {
+        return _htmlLength;
+    }
+
+    /**
+     * Get the length of the transferred content: the serialized DOM or the compressed serialized DOM.
+     *
+     * @return the length of the transferred content.
+     */
+    int getContentLength() {
+        if (_compressedHtml == null) {
+            return _html.length();
+        } else {
+            return _compressedHtml.length();
+        }
+    }
+
+    String getBaseUrl() {
+        return _baseUrl;
+    }
+
+    String getReadyState() {
+        return _readyState;
+    }
+
+    /**
+     * Check if the document was still loading, when the snapshot was taken. The document state is
+     * not a part of the snapshot content.
+     *
+     * @return true if the document was still loading.
+     */
+    boolean isLoading() {
+        return LOADING_READY_STATE.equals(_readyState);
+    }
+
+    /**
+     * Get the generation of the element markers, registered in the page by the snapshot script.
+     * The marker generation is not a part of the snapshot content.
+     *
+     * @return the generation of the element markers or null if the elements are not marked.
+     */
+    String getMarkerGeneration() {
+        return _markerGeneration;
+    }
+
+    /**
+     * Get the generation of the DOM changes, tracked in the page since this snapshot.
+     * The change generation is not a part of the snapshot content.
+     *
+     * @return the generation of the DOM changes or null if the DOM changes are not tracked.
+     */
+    String getChangeGeneration() {
+        return _changeGeneration;
+    }
+
+    long getFingerprint() {
+        return _fingerprint;
+    }
+
+    /**
+     * Check if the specified snapshot has the same content, i.e. the same transfer mode, the same
+     * transferred content length, the same transferred content fingerprint and the same base URL.
+     *
+     * @param pageSnapshot the specified snapshot.
+     *
+     * @return true if the specified snapshot has the same content.
+     */
+    boolean hasSameContent(final SeleniumPageSnapshot pageSnapshot) {
+        if (pageSnapshot == null) {
+            return false;
+        } else {
+            return isCompressed() == pageSnapshot.isCompressed() && getContentLength() == pageSnapshot.getContentLength() && _fingerprint == pageSnapshot._fingerprint && _baseUrl.equals(pageSnapshot._baseUrl);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import org.openqa.selenium.WebDriver;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * The state of the binding, kept with the binding result for the incremental rebind: the web driver,
+ * the form definition and the document with the generation of the DOM changes since the page snapshot.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumRebindState {
+
+    private static final String USER_DATA_KEY = SeleniumRebindState.class.getName();
+
+    private final WebDriver _webDriver;
+
+    private final FormDefinition _formDefinition;
+
+    private final SeleniumFormBinderWait.BindAttempt<Document> _bindAttempt;
+
+    private final org.jsoup.nodes.Document _document;
+
+    private final String _changeGeneration;
+
+    SeleniumRebindState(final WebDriver webDriver, final FormDefinition formDefinition, final SeleniumFormBinderWait.BindAttempt<Document> bindAttempt, final org.jsoup.nodes.Document document, final String changeGeneration) {
+        super();
+        _webDriver = webDriver;
+        _formDefinition = formDefinition;
+        _bindAttempt = bindAttempt;
+        _document = document;
+        _changeGeneration = changeGeneration;
+    }
+
+    /**
+     * Get the state of the binding, kept with the specified binding result.
+     *
+     * @param document the specified binding result.
+     *
+     * @return the state of the binding or null if the state is not kept.
+     */
+    static SeleniumRebindState get(final Document document) {
+        Object userData = document.getUserData(USER_DATA_KEY);
+        if (userData instanceof SeleniumRebindState) {
+            return (SeleniumRebindState) userData;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Keep this state with the specified binding result.
+     *
+     * @param document the specified binding result.
+     */
+    void put(final Document document) {
+        document.setUserData(USER_DATA_KEY, this, null);
+    }
+
+    WebDriver getWebDriver() {
+        return _webDriver;
+    }
+
+    FormDefinition getFormDefinition() {
+        return _formDefinition;
+    }
+
+    SeleniumFormBinderWait.BindAttempt<Document> getBindAttempt() {
+        return _bindAttempt;
+    }
+
+    org.jsoup.nodes.Document getDocument() {
+        return _document;
+    }
+
+    String getChangeGeneration() {
+        return _changeGeneration;
+    }
+
+}
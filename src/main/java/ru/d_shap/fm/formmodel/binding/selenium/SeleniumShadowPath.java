@@ -0,0 +1,77 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsoup.nodes.Element;
+
+/**
+ * The path of the binded element inside the shadow roots. The content of the open shadow root is added
+ * to the page snapshot as the last child element of the shadow host. The path starts with the CSS selector
+ * of the outermost shadow host, followed by the child element indices inside every shadow root.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumShadowPath {
+
+    static final String SHADOW_ROOT_TAG = "fm-shadow-root";
+
+    private SeleniumShadowPath() {
+        super();
+    }
+
+    /**
+     * Create the shadow path of the specified element.
+     *
+     * @param element the specified element.
+     *
+     * @return the shadow path or null if the specified element is not inside the shadow root.
+     */
+    static List<Object> create(final Element element) {
+        List<Object> shadowPath = new ArrayList<>();
+        List<Integer> childIndices = new ArrayList<>();
+        Element shadowHost = null;
+        Element current = element;
+        Element parent = element.parent();
+        while (parent != null) {
+            childIndices.add(0, current.elementSiblingIndex());
+            if (SHADOW_ROOT_TAG.equals(parent.tagName())) {
+                shadowPath.add(0, childIndices);
+                childIndices = new ArrayList<>();
+                shadowHost = parent.parent();
+                if (shadowHost == null) {
+                    return null;
+                }
+                current = shadowHost;
+            } else {
+                current = parent;
+            }
+            parent = current.parent();
+        }
+        if (shadowHost == null) {
+            return null;
+        }
+        shadowPath.add(0, SeleniumFramePath.getCssSelector(shadowHost, shadowHost.cssSelector()));
+        return shadowPath;
+    }
+
+}
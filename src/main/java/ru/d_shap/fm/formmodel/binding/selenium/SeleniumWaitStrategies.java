@@ -0,0 +1,309 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Predefined wait strategies.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumWaitStrategies {
+
+    private SeleniumWaitStrategies() {
+        super();
+    }
+
+    /**
+     * Create the wait strategy with the fixed duration to sleep between bind attempts.
+     *
+     * @param timeOutInSeconds the timeout in seconds when an expectation is called.
+     * @param sleepInMillis    the duration in milliseconds to sleep between polls.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy fixed(final long timeOutInSeconds, final long sleepInMillis) {
+        return new FixedWaitStrategy(TimeUnit.SECONDS.toNanos(timeOutInSeconds), TimeUnit.MILLISECONDS.toNanos(sleepInMillis));
+    }
+
+    /**
+     * Create the wait strategy with the duration to sleep between bind attempts, that is doubled after every failed
+     * bind attempt until the maximum duration is reached.
+     *
+     * @param timeOutInSeconds     the timeout in seconds when an expectation is called.
+     * @param initialSleepInMillis the duration in milliseconds to sleep after the first failed bind attempt.
+     * @param maxSleepInMillis     the maximum duration in milliseconds to sleep between polls.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy exponential(final long timeOutInSeconds, final long initialSleepInMillis, final long maxSleepInMillis) {
+        return new ExponentialWaitStrategy(TimeUnit.SECONDS.toNanos(timeOutInSeconds), TimeUnit.MILLISECONDS.toNanos(initialSleepInMillis), TimeUnit.MILLISECONDS.toNanos(maxSleepInMillis), false);
+    }
+
+    /**
+     * Create the exponential wait strategy, that sleeps a random duration between the half and the whole of the
+     * exponential duration. The jitter spreads the polls of the concurrent bind attempts.
+     *
+     * @param timeOutInSeconds     the timeout in seconds when an expectation is called.
+     * @param initialSleepInMillis the duration in milliseconds to sleep after the first failed bind attempt.
+     * @param maxSleepInMillis     the maximum duration in milliseconds to sleep between polls.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy jittered(final long timeOutInSeconds, final long initialSleepInMillis, final long maxSleepInMillis) {
+        return new ExponentialWaitStrategy(TimeUnit.SECONDS.toNanos(timeOutInSeconds), TimeUnit.MILLISECONDS.toNanos(initialSleepInMillis), TimeUnit.MILLISECONDS.toNanos(maxSleepInMillis), true);
+    }
+
+    /**
+     * Create the wait strategy, that polls fast for the specified number of bind attempts and then slows down.
+     *
+     * @param timeOutInSeconds  the timeout in seconds when an expectation is called.
+     * @param fastSleepInMillis the duration in milliseconds to sleep between the fast polls.
+     * @param fastAttempts      the number of the fast polls.
+     * @param slowSleepInMillis the duration in milliseconds to sleep between the slow polls.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy fastThenSlow(final long timeOutInSeconds, final long fastSleepInMillis, final int fastAttempts, final long slowSleepInMillis) {
+        return new FastThenSlowWaitStrategy(TimeUnit.SECONDS.toNanos(timeOutInSeconds), TimeUnit.MILLISECONDS.toNanos(fastSleepInMillis), fastAttempts, TimeUnit.MILLISECONDS.toNanos(slowSleepInMillis));
+    }
+
+    /**
+     * Create the wait strategy, that limits the number of the bind attempts of the specified wait strategy.
+     *
+     * @param waitStrategy the specified wait strategy.
+     * @param maxAttempts  the maximum number of the bind attempts.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy withMaxAttempts(final SeleniumWaitStrategy waitStrategy, final int maxAttempts) {
+        return new MaxAttemptsWaitStrategy(waitStrategy, maxAttempts);
+    }
+
+    /**
+     * Create the wait strategy, that waits for the DOM changes in the browser instead of the sleep between
+     * bind attempts. The mutation observer is installed in the browser, and the next bind attempt is made only
+     * after the DOM changes. If the web driver does not support asynchronous scripts, then the specified
+     * wait strategy is used to sleep between bind attempts.
+     *
+     * @param waitStrategy the wait strategy, that defines the timeout, the maximum number of the bind attempts
+     *                     and the duration to sleep if the DOM changes can not be observed.
+     *
+     * @return the wait strategy.
+     */
+    public static SeleniumWaitStrategy domChange(final SeleniumWaitStrategy waitStrategy) {
+        return new DomChangeWaitStrategy(waitStrategy);
+    }
+
+    /**
+     * Wait strategy with the fixed duration to sleep.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FixedWaitStrategy implements SeleniumWaitStrategy {
+
+        private final long _timeOutInNanos;
+
+        private final long _sleepInNanos;
+
+        FixedWaitStrategy(final long timeOutInNanos, final long sleepInNanos) {
+            super();
+            _timeOutInNanos = timeOutInNanos;
+            _sleepInNanos = sleepInNanos;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return _timeOutInNanos;
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            return _sleepInNanos;
+        }
+
+    }
+
+    /**
+     * Wait strategy with the exponential duration to sleep.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ExponentialWaitStrategy implements SeleniumWaitStrategy {
+
+        private final long _timeOutInNanos;
+
+        private final long _initialSleepInNanos;
+
+        private final long _maxSleepInNanos;
+
+        private final boolean _jitter;
+
+        ExponentialWaitStrategy(final long timeOutInNanos, final long initialSleepInNanos, final long maxSleepInNanos, final boolean jitter) {
+            super();
+            _timeOutInNanos = timeOutInNanos;
+            _initialSleepInNanos = initialSleepInNanos;
+            _maxSleepInNanos = maxSleepInNanos;
+            _jitter = jitter;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return _timeOutInNanos;
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            long sleepInNanos = _initialSleepInNanos;
+            for (int i = 1; i < attempt && sleepInNanos < _maxSleepInNanos; i++) {
+                sleepInNanos *= 2;
+            }
+            sleepInNanos = Math.min(sleepInNanos, _maxSleepInNanos);
+            if (_jitter && sleepInNanos > 1) {
+                long halfSleepInNanos = sleepInNanos / 2;
+                sleepInNanos = halfSleepInNanos + ThreadLocalRandom.current().nextLong(sleepInNanos - halfSleepInNanos + 1);
+            }
+            return sleepInNanos;
+        }
+
+    }
+
+    /**
+     * Wait strategy with the fast polls first and the slow polls then.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FastThenSlowWaitStrategy implements SeleniumWaitStrategy {
+
+        private final long _timeOutInNanos;
+
+        private final long _fastSleepInNanos;
+
+        private final int _fastAttempts;
+
+        private final long _slowSleepInNanos;
+
+        FastThenSlowWaitStrategy(final long timeOutInNanos, final long fastSleepInNanos, final int fastAttempts, final long slowSleepInNanos) {
+            super();
+            _timeOutInNanos = timeOutInNanos;
+            _fastSleepInNanos = fastSleepInNanos;
+            _fastAttempts = fastAttempts;
+            _slowSleepInNanos = slowSleepInNanos;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return _timeOutInNanos;
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            if (attempt <= _fastAttempts) {
+                return _fastSleepInNanos;
+            } else {
+                return _slowSleepInNanos;
+            }
+        }
+
+    }
+
+    /**
+     * Wait strategy with the limited number of the bind attempts.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class MaxAttemptsWaitStrategy implements SeleniumWaitStrategy {
+
+        private final SeleniumWaitStrategy _waitStrategy;
+
+        private final int _maxAttempts;
+
+        MaxAttemptsWaitStrategy(final SeleniumWaitStrategy waitStrategy, final int maxAttempts) {
+            super();
+            _waitStrategy = waitStrategy;
+            _maxAttempts = maxAttempts;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return _waitStrategy.getTimeOutInNanos();
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return Math.min(_maxAttempts, _waitStrategy.getMaxAttempts());
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            return _waitStrategy.getSleepInNanos(attempt);
+        }
+
+    }
+
+    /**
+     * Wait strategy, that waits for the DOM changes in the browser.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class DomChangeWaitStrategy implements SeleniumWaitStrategy {
+
+        private final SeleniumWaitStrategy _waitStrategy;
+
+        DomChangeWaitStrategy(final SeleniumWaitStrategy waitStrategy) {
+            super();
+            _waitStrategy = waitStrategy;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return _waitStrategy.getTimeOutInNanos();
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return _waitStrategy.getMaxAttempts();
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            return _waitStrategy.getSleepInNanos(attempt);
+        }
+
+    }
+
+}
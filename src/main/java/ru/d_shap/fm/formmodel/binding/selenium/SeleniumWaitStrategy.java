@@ -0,0 +1,53 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+/**
+ * The wait strategy, used to retry the bind attempts until the form is present.
+ * Predefined wait strategies are created with {@link SeleniumWaitStrategies}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface SeleniumWaitStrategy {
+
+    /**
+     * Get the timeout in nanoseconds, after which no more bind attempts are made.
+     *
+     * @return the timeout in nanoseconds.
+     */
+    long getTimeOutInNanos();
+
+    /**
+     * Get the maximum number of the bind attempts.
+     *
+     * @return the maximum number of the bind attempts.
+     */
+    int getMaxAttempts();
+
+    /**
+     * Get the duration in nanoseconds to sleep after the failed bind attempt.
+     *
+     * @param attempt the number of the failed bind attempt, starting with 1.
+     *
+     * @return the duration in nanoseconds to sleep.
+     */
+    long getSleepInNanos(int attempt);
+
+}
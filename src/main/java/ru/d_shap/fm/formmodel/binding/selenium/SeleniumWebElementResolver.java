@@ -0,0 +1,172 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Selenium web element resolver. Resolves the web elements of the binded elements with one script call
+ * for every web driver. The marked web elements are taken from the registry of the last page snapshot,
+ * other web elements are found by the CSS selectors. The binded elements inside the frames are resolved
+ * with one script call for every frame. The web elements inside the shadow roots are found by the shadow paths.
+ * If the script call fails, then the web elements are resolved one by one, and the web elements, that are
+ * not found, stay unresolved.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumWebElementResolver {
+
+    private static final String RESOLVE_SCRIPT = "/* fm:resolve */"
+        + "var selectors = arguments[0];"
+        + "var markers = arguments[1] || [];"
+        + "var shadowPaths = arguments[2] || [];"
+        + "var registry = window.__fmMarkers;"
+        + "var webElements = [];"
+        + "for (var i = 0; i < selectors.length; i++) {"
+        + "    var webElement = null;"
+        + "    var marker = markers[i];"
+        + "    var shadowPath = shadowPaths[i];"
+        + "    if (marker && registry && registry.generation === marker[0]) {"
+        + "        webElement = registry.elements[marker[1]] || null;"
+        + "        if (webElement && !webElement.isConnected) {"
+        + "            webElement = null;"
+        + "        }"
+        + "    }"
+        + "    if (!webElement && shadowPath) {"
+        + "        var node = document.querySelector(shadowPath[0]);"
+        + "        for (var j = 1; j < shadowPath.length && node; j++) {"
+        + "            node = node.shadowRoot;"
+        + "            for (var k = 0; k < shadowPath[j].length && node; k++) {"
+        + "                node = node.children[shadowPath[j][k]] || null;"
+        + "            }"
+        + "        }"
+        + "        webElement = node;"
+        + "    }"
+        + "    if (!webElement && !shadowPath) {"
+        + "        webElement = document.querySelector(selectors[i]);"
+        + "    }"
+        + "    webElements.push(webElement);"
+        + "}"
+        + "return webElements;";
+
+    private SeleniumWebElementResolver() {
+        super();
+    }
+
+    static WebElement resolveWebElement(final WebDriver webDriver, final String cssSelector, final List<Object> marker, final List<Object> shadowPath) {
+        if ((marker != null || shadowPath != null) && webDriver instanceof JavascriptExecutor) {
+            Object result;
+            try {
+                result = ((JavascriptExecutor) webDriver).executeScript(RESOLVE_SCRIPT, Collections.singletonList(cssSelector), Collections.singletonList(marker), Collections.singletonList(shadowPath));
+            } catch (WebDriverException ex) {
+                result = null;
+            }
+            if (result instanceof List && ((List<?>) result).size() == 1) {
+                Object webElement = ((List<?>) result).get(0);
+                if (webElement instanceof WebElement) {
+                    return (WebElement) webElement;
+                }
+            }
+        }
+        return webDriver.findElement(By.cssSelector(cssSelector));
+    }
+
+    static void resolveWebElements(final List<? extends SeleniumBindedElement> bindedElements) {
+        Map<WebDriver, Map<SeleniumFramePath, List<SeleniumBindedElementImpl>>> unresolvedBindedElements = new IdentityHashMap<>();
+        for (SeleniumBindedElement bindedElement : bindedElements) {
+            if (bindedElement instanceof SeleniumBindedElementImpl && !((SeleniumBindedElementImpl) bindedElement).isWebElementResolved()) {
+                WebDriver webDriver = bindedElement.getWebDriver();
+                Map<SeleniumFramePath, List<SeleniumBindedElementImpl>> webDriverBindedElements = unresolvedBindedElements.get(webDriver);
+                if (webDriverBindedElements == null) {
+                    webDriverBindedElements = new LinkedHashMap<>();
+                    unresolvedBindedElements.put(webDriver, webDriverBindedElements);
+                }
+                SeleniumFramePath framePath = ((SeleniumBindedElementImpl) bindedElement).getFramePath();
+                List<SeleniumBindedElementImpl> frameBindedElements = webDriverBindedElements.get(framePath);
+                if (frameBindedElements == null) {
+                    frameBindedElements = new ArrayList<>();
+                    webDriverBindedElements.put(framePath, frameBindedElements);
+                }
+                frameBindedElements.add((SeleniumBindedElementImpl) bindedElement);
+            }
+        }
+        for (Map.Entry<WebDriver, Map<SeleniumFramePath, List<SeleniumBindedElementImpl>>> entry : unresolvedBindedElements.entrySet()) {
+            for (List<SeleniumBindedElementImpl> frameBindedElements : entry.getValue().values()) {
+                frameBindedElements.get(0).switchToFrame();
+                resolveWebElements(entry.getKey(), frameBindedElements);
+            }
+        }
+    }
+
+    private static void resolveWebElements(final WebDriver webDriver, final List<SeleniumBindedElementImpl> bindedElements) {
+        if (webDriver instanceof JavascriptExecutor) {
+            List<String> cssSelectors = new ArrayList<>(bindedElements.size());
+            List<List<Object>> markers = new ArrayList<>(bindedElements.size());
+            List<List<Object>> shadowPaths = new ArrayList<>(bindedElements.size());
+            for (SeleniumBindedElementImpl bindedElement : bindedElements) {
+                cssSelectors.add(bindedElement.cssSelector());
+                markers.add(bindedElement.getMarker());
+                shadowPaths.add(bindedElement.getShadowPath());
+            }
+            Object result;
+            try {
+                result = ((JavascriptExecutor) webDriver).executeScript(RESOLVE_SCRIPT, cssSelectors, markers, shadowPaths);
+            } catch (WebDriverException ex) {
+                result = null;
+            }
+            if (result instanceof List && ((List<?>) result).size() == bindedElements.size()) {
+                List<?> webElements = (List<?>) result;
+                for (int i = 0; i < webElements.size(); i++) {
+                    Object webElement = webElements.get(i);
+                    if (webElement instanceof WebElement) {
+                        bindedElements.get(i).setWebElement((WebElement) webElement);
+                    }
+                }
+            } else {
+                resolveWebElementsSeparately(bindedElements);
+            }
+        } else {
+            resolveWebElementsSeparately(bindedElements);
+        }
+    }
+
+    private static void resolveWebElementsSeparately(final List<SeleniumBindedElementImpl> bindedElements) {
+        for (SeleniumBindedElementImpl bindedElement : bindedElements) {
+            try {
+                bindedElement.getWebElement();
+            } catch (NoSuchElementException ex) {
+                // Ignore, the web element is found again on the first use
+            }
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SeleniumCompressedHtml}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumCompressedHtmlTest {
+
+    private static final String BASE64_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+    private static final String HTML = "<html><head><title>Page</title></head><body><p>Text текст ✓ 😀</p></body></html>";
+
+    private static final int ROW_COUNT = 1000;
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumCompressedHtmlTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumCompressedHtml} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void decodeBase64Test() throws IOException {
+        assertDecoded("", "");
+        assertDecoded("f", "Zg==");
+        assertDecoded("fo", "Zm8=");
+        assertDecoded("foo", "Zm9v");
+        assertDecoded("foob", "Zm9vYg==");
+        assertDecoded("fooba", "Zm9vYmE=");
+        assertDecoded("foobar", "Zm9vYmFy");
+        Assert.assertArrayEquals(new byte[]{(byte) 0xfb, (byte) 0xff, (byte) 0xbf}, SeleniumCompressedHtml.decodeBase64("+/+/"));
+
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        for (int length = 0; length <= bytes.length; length += 7) {
+            byte[] expected = new byte[length];
+            System.arraycopy(bytes, bytes.length - length, expected, 0, length);
+            Assert.assertArrayEquals(expected, SeleniumCompressedHtml.decodeBase64(encodeBase64(expected)));
+        }
+    }
+
+    /**
+     * {@link SeleniumCompressedHtml} class test.
+     */
+    @Test
+    public void decodeInvalidBase64Test() {
+        assertInvalidBase64("Zm9vY");
+        assertInvalidBase64("Zm9vYg");
+        assertInvalidBase64("Zm9vY===");
+        assertInvalidBase64("Zm9v====");
+        assertInvalidBase64("Zm9-");
+        assertInvalidBase64("Zm=v");
+        assertInvalidBase64("Zm9é");
+        assertInvalidBase64("Zm9 ");
+    }
+
+    /**
+     * {@link SeleniumCompressedHtml} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void decompressTest() throws IOException {
+        Assert.assertEquals(HTML, SeleniumCompressedHtml.decompress(compress(HTML), HTML.length()));
+        Assert.assertEquals("", SeleniumCompressedHtml.decompress(compress(""), 0));
+
+        StringBuilder html = new StringBuilder(ROW_COUNT * 64);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            html.append("<div class=\"row\"><input name=\"field-").append(i).append("\"></div>");
+        }
+        String largeHtml = html.toString();
+        String compressedHtml = compress(largeHtml);
+        Assert.assertTrue(compressedHtml.length() < largeHtml.length() / 4);
+        Assert.assertEquals(largeHtml, SeleniumCompressedHtml.decompress(compressedHtml, largeHtml.length()));
+    }
+
+    /**
+     * {@link SeleniumCompressedHtml} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void decompressInvalidContentTest() throws IOException {
+        String compressedHtml = compress(HTML);
+        assertInvalidContent(compressedHtml, -1);
+        assertInvalidContent(compressedHtml, HTML.length() - 1);
+        assertInvalidContent(compressedHtml, HTML.length() + 1);
+        assertInvalidContent(encodeBase64(HTML.getBytes(StandardCharsets.UTF_8)), HTML.length());
+        assertInvalidContent(compressedHtml.substring(0, compressedHtml.length() / 8 * 4), HTML.length());
+        assertInvalidContent(compressedHtml.substring(1), HTML.length());
+        assertInvalidContent("", 0);
+    }
+
+    private static void assertDecoded(final String expected, final String base64) throws IOException {
+        Assert.assertEquals(expected, new String(SeleniumCompressedHtml.decodeBase64(base64), StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalidBase64(final String base64) {
+        try {
+            SeleniumCompressedHtml.decodeBase64(base64);
+            Assert.fail("IOException expected: " + base64);
+        } catch (IOException ex) {
+            Assert.assertNotNull(ex.getMessage());
+        }
+    }
+
+    private static void assertInvalidContent(final String compressedHtml, final int htmlLength) {
+        try {
+            SeleniumCompressedHtml.decompress(compressedHtml, htmlLength);
+            Assert.fail("IOException expected: " + htmlLength);
+        } catch (IOException ex) {
+            Assert.assertNotNull(ex);
+        }
+    }
+
+    private static String compress(final String html) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            outputStream.write(html.getBytes(StandardCharsets.UTF_8));
+        }
+        return encodeBase64(byteArrayOutputStream.toByteArray());
+    }
+
+    private static String encodeBase64(final byte[] bytes) {
+        StringBuilder base64 = new StringBuilder();
+        for (int i = 0; i < bytes.length; i += 3) {
+            int count = Math.min(3, bytes.length - i);
+            int buffer = 0;
+            for (int j = 0; j < 3; j++) {
+                buffer <<= 8;
+                if (j < count) {
+                    buffer |= bytes[i + j] & 0xff;
+                }
+            }
+            for (int j = 0; j < 4; j++) {
+                if (j <= count) {
+                    base64.append(BASE64_ALPHABET.charAt(buffer >> 18 - j * 6 & 0x3f));
+                } else {
+                    base64.append('=');
+                }
+            }
+        }
+        return base64.toString();
+    }
+
+}
@@ -0,0 +1,225 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for {@link SeleniumDocumentCache}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumDocumentCacheTest {
+
+    private static final String URL = "http://localhost/page";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumDocumentCacheTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void disabledTest() {
+        WebDriver webDriver = createWebDriver();
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        Assert.assertFalse(documentCache.isEnabled());
+        SeleniumPageSnapshot pageSnapshot = createPageSnapshot("a");
+        documentCache.put(webDriver, pageSnapshot, parse(pageSnapshot));
+        Assert.assertEquals(0, documentCache.size());
+        Assert.assertNull(documentCache.get(webDriver, pageSnapshot));
+        documentCache.setMaxSize(-1);
+        Assert.assertFalse(documentCache.isEnabled());
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void leastRecentlyUsedEvictionTest() {
+        WebDriver webDriver = createWebDriver();
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        documentCache.setMaxSize(2);
+        Assert.assertTrue(documentCache.isEnabled());
+        SeleniumPageSnapshot pageSnapshotA = createPageSnapshot("a");
+        SeleniumPageSnapshot pageSnapshotB = createPageSnapshot("b");
+        SeleniumPageSnapshot pageSnapshotC = createPageSnapshot("c");
+        Document documentA = parse(pageSnapshotA);
+        Document documentB = parse(pageSnapshotB);
+        Document documentC = parse(pageSnapshotC);
+        documentCache.put(webDriver, pageSnapshotA, documentA);
+        documentCache.put(webDriver, pageSnapshotB, documentB);
+        documentCache.put(webDriver, pageSnapshotB, documentB);
+        Assert.assertEquals(2, documentCache.size());
+        Assert.assertSame(documentA, documentCache.get(webDriver, createPageSnapshot("a")));
+
+        documentCache.put(webDriver, pageSnapshotC, documentC);
+        Assert.assertEquals(2, documentCache.size());
+        Assert.assertSame(documentA, documentCache.get(webDriver, pageSnapshotA));
+        Assert.assertNull(documentCache.get(webDriver, pageSnapshotB));
+        Assert.assertSame(documentC, documentCache.get(webDriver, pageSnapshotC));
+
+        documentCache.setMaxSize(1);
+        Assert.assertEquals(1, documentCache.size());
+        Assert.assertNull(documentCache.get(webDriver, pageSnapshotA));
+        Assert.assertSame(documentC, documentCache.get(webDriver, pageSnapshotC));
+
+        documentCache.setMaxSize(0);
+        Assert.assertEquals(0, documentCache.size());
+        Assert.assertNull(documentCache.get(webDriver, pageSnapshotC));
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void evictionFromOtherSessionTest() {
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        documentCache.setMaxSize(1);
+        WebDriver webDriver1 = createWebDriver();
+        WebDriver webDriver2 = createWebDriver();
+        SeleniumPageSnapshot pageSnapshot = createPageSnapshot("a");
+        Document document1 = parse(pageSnapshot);
+        Document document2 = parse(pageSnapshot);
+        documentCache.put(webDriver1, pageSnapshot, document1);
+        Assert.assertSame(document1, documentCache.get(webDriver1, pageSnapshot));
+        Assert.assertNull(documentCache.get(webDriver2, pageSnapshot));
+
+        documentCache.put(webDriver2, pageSnapshot, document2);
+        Assert.assertEquals(1, documentCache.size());
+        Assert.assertNull(documentCache.get(webDriver1, pageSnapshot));
+        Assert.assertSame(document2, documentCache.get(webDriver2, pageSnapshot));
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void invalidateTest() {
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        documentCache.setMaxSize(10);
+        WebDriver webDriver1 = createWebDriver();
+        WebDriver webDriver2 = createWebDriver();
+        SeleniumPageSnapshot pageSnapshotA = createPageSnapshot("a");
+        SeleniumPageSnapshot pageSnapshotB = createPageSnapshot("b");
+        documentCache.put(webDriver1, pageSnapshotA, parse(pageSnapshotA));
+        documentCache.put(webDriver1, pageSnapshotB, parse(pageSnapshotB));
+        documentCache.put(webDriver2, pageSnapshotA, parse(pageSnapshotA));
+        Assert.assertEquals(3, documentCache.size());
+
+        documentCache.invalidate(webDriver1);
+        Assert.assertEquals(1, documentCache.size());
+        Assert.assertNull(documentCache.get(webDriver1, pageSnapshotA));
+        Assert.assertNull(documentCache.get(webDriver1, pageSnapshotB));
+        Assert.assertNotNull(documentCache.get(webDriver2, pageSnapshotA));
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void wrappingWebDriverTest() {
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        documentCache.setMaxSize(10);
+        WebDriver webDriver = createWebDriver();
+        WebDriver wrappingWebDriver = (WebDriver) Proxy.newProxyInstance(SeleniumDocumentCacheTest.class.getClassLoader(), new Class<?>[]{WebDriver.class, WrapsDriver.class}, new WrappingHandler(webDriver));
+        SeleniumPageSnapshot pageSnapshot = createPageSnapshot("a");
+        Document document = parse(pageSnapshot);
+        documentCache.put(wrappingWebDriver, pageSnapshot, document);
+        Assert.assertSame(document, documentCache.get(webDriver, pageSnapshot));
+        documentCache.invalidate(webDriver);
+        Assert.assertNull(documentCache.get(wrappingWebDriver, pageSnapshot));
+        Assert.assertEquals(0, documentCache.size());
+    }
+
+    /**
+     * {@link SeleniumDocumentCache} class test.
+     */
+    @Test
+    public void differentPagesTest() {
+        SeleniumDocumentCache documentCache = new SeleniumDocumentCache();
+        documentCache.setMaxSize(10);
+        WebDriver webDriver = createWebDriver();
+        SeleniumPageSnapshot pageSnapshot = createPageSnapshot("a");
+        documentCache.put(webDriver, pageSnapshot, parse(pageSnapshot));
+        Assert.assertNotNull(documentCache.get(webDriver, createPageSnapshot("a")));
+        Assert.assertNull(documentCache.get(webDriver, createPageSnapshot("b")));
+        Assert.assertNull(documentCache.get(webDriver, createPageSnapshot("aa")));
+        Assert.assertNull(documentCache.get(webDriver, new SeleniumPageSnapshot(createHtml("a"), "http://localhost/other", null, null, null)));
+    }
+
+    private static WebDriver createWebDriver() {
+        return new SeleniumReplayWebDriver(Collections.<SeleniumReplayPage>emptyList());
+    }
+
+    private static String createHtml(final String text) {
+        return "<html><head></head><body><p>" + text + "</p></body></html>";
+    }
+
+    private static SeleniumPageSnapshot createPageSnapshot(final String text) {
+        return new SeleniumPageSnapshot(createHtml(text), URL, null, null, null);
+    }
+
+    private static Document parse(final SeleniumPageSnapshot pageSnapshot) {
+        return Jsoup.parse(pageSnapshot.getHtml(), pageSnapshot.getBaseUrl());
+    }
+
+    /**
+     * The wrapping web driver.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class WrappingHandler implements InvocationHandler {
+
+        private final WebDriver _webDriver;
+
+        WrappingHandler(final WebDriver webDriver) {
+            super();
+            _webDriver = webDriver;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if ("getWrappedDriver".equals(method.getName())) {
+                return _webDriver;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }
+
+    }
+
+}
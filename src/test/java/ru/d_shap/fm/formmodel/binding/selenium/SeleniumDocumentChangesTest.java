@@ -0,0 +1,240 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for {@link SeleniumDocumentChanges}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumDocumentChangesTest {
+
+    private static final String URL = "http://localhost/page";
+
+    private static final String PAGE_HTML = "<html><head></head><body><form><input type='checkbox' name='check'><textarea name='text'>old</textarea></form><div id='footer'>footer</div></body></html>";
+
+    private static final String SNAPSHOT_SCRIPT = "/* fm:snapshot */";
+
+    private static final String CHANGE_GENERATION = "generation";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumDocumentChangesTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void applyReplayedChangesTest() {
+        SeleniumReplayWebDriver webDriver = new SeleniumReplayWebDriver(Collections.singletonList(new SeleniumReplayPage(URL, PAGE_HTML)));
+        Map<?, ?> snapshot = (Map<?, ?>) webDriver.executeScript(SNAPSHOT_SCRIPT, null, null, null, false, true);
+        Document document = Jsoup.parse((String) snapshot.get("html"), URL);
+        String changeGeneration = (String) snapshot.get("changeGeneration");
+
+        SeleniumDocumentChanges documentChanges = SeleniumDocumentChanges.take(webDriver, changeGeneration);
+        Assert.assertNotNull(documentChanges);
+        Assert.assertTrue(documentChanges.isEmpty());
+
+        webDriver.findElement(By.name("check")).click();
+        webDriver.findElement(By.name("text")).sendKeys(" new");
+        documentChanges = SeleniumDocumentChanges.take(webDriver, documentChanges.getChangeGeneration());
+        Assert.assertNotNull(documentChanges);
+        Assert.assertFalse(documentChanges.isEmpty());
+        Document changedDocument = documentChanges.apply(document);
+        Assert.assertNotNull(changedDocument);
+        Assert.assertEquals(Jsoup.parse(webDriver.getPageSource(), URL).outerHtml(), changedDocument.outerHtml());
+        Assert.assertEquals("old", document.selectFirst("textarea").text());
+        Assert.assertFalse(document.selectFirst("input").hasAttr("checked"));
+        Assert.assertEquals("old new", changedDocument.selectFirst("textarea").text());
+        Assert.assertTrue(changedDocument.selectFirst("input").hasAttr("checked"));
+
+        Assert.assertNull(SeleniumDocumentChanges.take(webDriver, changeGeneration));
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void applyChangesTest() {
+        Document document = Jsoup.parse("<html><head></head><body><p id='first'>first</p><p id='second'>second</p></body></html>", URL);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("id", "first");
+        attributes.put("class", "changed");
+        Document changedDocument = takeChanges(URL, createChange(Arrays.asList(1, 0), Arrays.asList(2, 2), "p", attributes), createChange(Arrays.asList(1, 1), Arrays.asList(2, 2), "p", "<p id='second'>changed</p>")).apply(document);
+        Assert.assertNotNull(changedDocument);
+        Assert.assertEquals("changed", changedDocument.selectFirst("#first").className());
+        Assert.assertEquals("changed", changedDocument.selectFirst("#second").text());
+        Assert.assertEquals("second", document.selectFirst("#second").text());
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void applyChangesToTableWithoutTbodyTest() {
+        String html = "<html><head></head><body><table><tr><td>a</td></tr><tr><td>b</td></tr></table></body></html>";
+        Document document = Jsoup.parse(html, URL);
+        Assert.assertEquals("tbody", document.selectFirst("table").child(0).normalName());
+        SeleniumDocumentChanges documentChanges = takeChanges(URL, createChange(Arrays.asList(1, 0, 1), Arrays.asList(2, 1, 2), "tr", "<tr><td>c</td></tr>"));
+        Assert.assertNull(documentChanges.apply(document));
+        documentChanges = takeChanges(URL, createChange(Arrays.asList(1, 0, 0, 0), Arrays.asList(2, 1, 2, 1), "td", "<td>c</td>"));
+        Assert.assertNull(documentChanges.apply(document));
+
+        document = Jsoup.parse("<html><head></head><body><table><tbody><tr><td>a</td></tr><tr><td>b</td></tr></tbody></table></body></html>", URL);
+        documentChanges = takeChanges(URL, createChange(Arrays.asList(1, 0, 0, 1), Arrays.asList(2, 1, 1, 2), "tr", "<tr><td>c</td></tr>"));
+        Document changedDocument = documentChanges.apply(document);
+        Assert.assertNotNull(changedDocument);
+        Assert.assertEquals("a c", changedDocument.selectFirst("tbody").text());
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void applyChangesToMisnestedElementsTest() {
+        Document document = Jsoup.parse("<html><head></head><body><p><div id='inner'>inner</div></p><div id='outer'>outer</div></body></html>", URL);
+        Assert.assertEquals(4, document.body().childrenSize());
+        Assert.assertEquals("div", document.body().child(1).normalName());
+        SeleniumDocumentChanges documentChanges = takeChanges(URL, createChange(Arrays.asList(1, 1), Arrays.asList(2, 2), "div", "<div id='outer'>changed</div>"));
+        Assert.assertNull(documentChanges.apply(document));
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void applyInvalidChangesTest() {
+        Document document = Jsoup.parse("<html><head></head><body><p id='first'>first</p></body></html>", URL);
+        Assert.assertNull(takeChanges(URL, createChange(Arrays.asList(1, 0), null, "p", "<p>changed</p>")).apply(document));
+        Assert.assertNull(takeChanges(URL, createChange(Arrays.asList(1, 0), Arrays.asList(2), "p", "<p>changed</p>")).apply(document));
+        Assert.assertNull(takeChanges(URL, createChange(Arrays.asList(1, 0), Arrays.asList(2, 1), "div", "<div>changed</div>")).apply(document));
+        Assert.assertNull(takeChanges(URL, createChange(Arrays.asList(1, 1), Arrays.asList(2, 1), "p", "<p>changed</p>")).apply(document));
+        Assert.assertNull(takeChanges(URL, createChange(Arrays.asList(1, 0), Arrays.asList(2, 1), "p", "<div>changed</div>")).apply(document));
+        Assert.assertNull(takeChanges("http://localhost/other", createChange(Arrays.asList(1, 0), Arrays.asList(2, 1), "p", "<p>changed</p>")).apply(document));
+        Assert.assertNotNull(takeChanges(URL, createChange(Arrays.asList(1, 0), Arrays.asList(2, 1), "p", "<p>changed</p>")).apply(document));
+    }
+
+    /**
+     * {@link SeleniumDocumentChanges} class test.
+     */
+    @Test
+    public void takeInvalidChangesTest() {
+        Assert.assertNull(SeleniumDocumentChanges.take(createWebDriver(null), CHANGE_GENERATION));
+        Assert.assertNull(SeleniumDocumentChanges.take(createWebDriver("changes"), CHANGE_GENERATION));
+        Assert.assertNull(SeleniumDocumentChanges.take(createWebDriver(new HashMap<String, Object>()), CHANGE_GENERATION));
+        Map<String, Object> result = createResult(URL);
+        result.put("changes", Collections.singletonList("change"));
+        Assert.assertNull(SeleniumDocumentChanges.take(createWebDriver(result), CHANGE_GENERATION));
+        Assert.assertNull(SeleniumDocumentChanges.take(createWebDriver(createResult(URL)), null));
+        Assert.assertNotNull(SeleniumDocumentChanges.take(createWebDriver(createResult(URL)), CHANGE_GENERATION));
+    }
+
+    private static SeleniumDocumentChanges takeChanges(final String baseUrl, final Map<?, ?>... changes) {
+        Map<String, Object> result = createResult(baseUrl);
+        result.put("changes", Arrays.asList(changes));
+        SeleniumDocumentChanges documentChanges = SeleniumDocumentChanges.take(createWebDriver(result), CHANGE_GENERATION);
+        Assert.assertNotNull(documentChanges);
+        return documentChanges;
+    }
+
+    private static Map<String, Object> createResult(final String baseUrl) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("changeGeneration", CHANGE_GENERATION);
+        result.put("baseUrl", baseUrl);
+        result.put("changes", new ArrayList<Object>());
+        return result;
+    }
+
+    private static Map<String, Object> createChange(final List<Integer> path, final List<Integer> childCounts, final String tagName, final Object content) {
+        Map<String, Object> change = new HashMap<>();
+        change.put("path", toLongs(path));
+        if (childCounts != null) {
+            change.put("childCounts", toLongs(childCounts));
+        }
+        change.put("tagName", tagName);
+        if (content instanceof String) {
+            change.put("html", content);
+        } else {
+            change.put("attributes", content);
+        }
+        return change;
+    }
+
+    private static List<Long> toLongs(final List<Integer> values) {
+        List<Long> longs = new ArrayList<>();
+        for (Integer value : values) {
+            longs.add(value.longValue());
+        }
+        return longs;
+    }
+
+    private static WebDriver createWebDriver(final Object result) {
+        return (WebDriver) Proxy.newProxyInstance(SeleniumDocumentChangesTest.class.getClassLoader(), new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, new ScriptResultHandler(result));
+    }
+
+    /**
+     * The web driver, that returns the specified result of every script.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ScriptResultHandler implements InvocationHandler {
+
+        private final Object _result;
+
+        ScriptResultHandler(final Object result) {
+            super();
+            _result = result;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if ("executeScript".equals(method.getName())) {
+                return _result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriverException;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for {@link SeleniumDomChangeWait}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumDomChangeWaitTest {
+
+    private static final String DOM_CHANGE_TAG = "dom-change";
+
+    private static final long TIMEOUT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final long FALLBACK_SLEEP = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumDomChangeWaitTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumDomChangeWait} class test.
+     *
+     * @throws InterruptedException interrupted exception.
+     */
+    @Test
+    public void awaitElementChangeTest() throws InterruptedException {
+        SeleniumReplayWebDriver webDriver = createWebDriver();
+        SeleniumDomChangeWait domChangeWait = new SeleniumDomChangeWait(webDriver);
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertFalse(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        webDriver.findElement(By.name("field")).sendKeys("value");
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertFalse(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+    }
+
+    /**
+     * {@link SeleniumDomChangeWait} class test.
+     *
+     * @throws InterruptedException interrupted exception.
+     */
+    @Test
+    public void awaitNavigationTest() throws InterruptedException {
+        SeleniumReplayWebDriver webDriver = createWebDriver();
+        SeleniumDomChangeWait domChangeWait = new SeleniumDomChangeWait(webDriver);
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertFalse(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertTrue(webDriver.nextPage());
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertFalse(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        webDriver.navigate().refresh();
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+    }
+
+    /**
+     * {@link SeleniumDomChangeWait} class test.
+     *
+     * @throws InterruptedException interrupted exception.
+     */
+    @Test
+    public void awaitAfterTransientFailureTest() throws InterruptedException {
+        SeleniumFailingWebDriver failingWebDriver = SeleniumFailingWebDriver.create(createWebDriver(), DOM_CHANGE_TAG, 1, new WebDriverException("navigation"));
+        SeleniumDomChangeWait domChangeWait = new SeleniumDomChangeWait(failingWebDriver.getWebDriver());
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertEquals(1, failingWebDriver.getScriptCount());
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertFalse(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertEquals(3, failingWebDriver.getScriptCount());
+    }
+
+    /**
+     * {@link SeleniumDomChangeWait} class test.
+     *
+     * @throws InterruptedException interrupted exception.
+     */
+    @Test
+    public void awaitAfterScriptErrorTest() throws InterruptedException {
+        SeleniumFailingWebDriver failingWebDriver = SeleniumFailingWebDriver.create(createWebDriver(), DOM_CHANGE_TAG, 1, new JavascriptException("MutationObserver is not defined"));
+        SeleniumDomChangeWait domChangeWait = new SeleniumDomChangeWait(failingWebDriver.getWebDriver());
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertTrue(domChangeWait.await(TIMEOUT, FALLBACK_SLEEP));
+        Assert.assertEquals(1, failingWebDriver.getScriptCount());
+    }
+
+    private static SeleniumReplayWebDriver createWebDriver() {
+        SeleniumReplayPage page1 = new SeleniumReplayPage("http://localhost/page1", "<html><body><input name='field'></body></html>");
+        SeleniumReplayPage page2 = new SeleniumReplayPage("http://localhost/page2", "<html><body><input name='field'></body></html>");
+        return new SeleniumReplayWebDriver(Arrays.asList(page1, page2));
+    }
+
+}
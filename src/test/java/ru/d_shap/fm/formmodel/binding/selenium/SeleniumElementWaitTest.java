@@ -0,0 +1,168 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.TimeoutException;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for {@link SeleniumElementWait}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumElementWaitTest {
+
+    private static final String URL = "http://localhost/page";
+
+    private static final String LOOKUP = "#form .error";
+
+    private static final String NO_ERRORS_HTML = "<html><body><form id='form'><input name='field'></form></body></html>";
+
+    private static final String HIDDEN_ERROR_HTML = "<html><body><form id='form'><input name='field'><span class='error' hidden>Required</span></form></body></html>";
+
+    private static final String ERRORS_HTML = "<html><body><form id='form'><input name='field'><span class='error'>Required</span><span class='error' hidden>Too long</span></form></body></html>";
+
+    private static final String CHANGED_ERRORS_HTML = "<html><body><form id='form'><input name='field'><span class='error'>Invalid</span><span class='error' hidden>Too long</span></form></body></html>";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumElementWaitTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test
+    public void presentTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_ERRORS_HTML, ERRORS_HTML);
+        SeleniumElementWaitResult result = new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.PRESENT, new NextPageWaitStrategy(webDriver, 5)).await();
+        Assert.assertEquals(2, result.getElementCount());
+        Assert.assertEquals(1, result.getVisibleElementCount());
+        Assert.assertTrue(result.isTextChanged());
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test
+    public void presentWithoutWaitTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(ERRORS_HTML);
+        SeleniumElementWaitResult result = new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.PRESENT, new NextPageWaitStrategy(webDriver, 1)).await();
+        Assert.assertEquals(2, result.getElementCount());
+        Assert.assertEquals(1, result.getVisibleElementCount());
+        Assert.assertFalse(result.isTextChanged());
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test
+    public void visibleTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(HIDDEN_ERROR_HTML, HIDDEN_ERROR_HTML, ERRORS_HTML);
+        SeleniumElementWaitResult result = new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.VISIBLE, new NextPageWaitStrategy(webDriver, 5)).await();
+        Assert.assertEquals(2, result.getElementCount());
+        Assert.assertEquals(1, result.getVisibleElementCount());
+        Assert.assertTrue(result.isTextChanged());
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test
+    public void textChangedTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(ERRORS_HTML, ERRORS_HTML, CHANGED_ERRORS_HTML);
+        SeleniumElementWaitResult result = new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.TEXT_CHANGED, new NextPageWaitStrategy(webDriver, 5)).await();
+        Assert.assertEquals(2, result.getElementCount());
+        Assert.assertEquals(1, result.getVisibleElementCount());
+        Assert.assertTrue(result.isTextChanged());
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test(expected = TimeoutException.class)
+    public void visibleTimeoutTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_ERRORS_HTML, HIDDEN_ERROR_HTML);
+        new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.VISIBLE, new NextPageWaitStrategy(webDriver, 5)).await();
+    }
+
+    /**
+     * {@link SeleniumElementWait} class test.
+     */
+    @Test(expected = TimeoutException.class)
+    public void textChangedTimeoutTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(ERRORS_HTML, ERRORS_HTML);
+        new SeleniumElementWait(webDriver, LOOKUP, SeleniumElementCondition.TEXT_CHANGED, new NextPageWaitStrategy(webDriver, 5)).await();
+    }
+
+    private static SeleniumReplayWebDriver createWebDriver(final String... htmls) {
+        List<SeleniumReplayPage> pages = new ArrayList<>();
+        for (String html : htmls) {
+            pages.add(new SeleniumReplayPage(URL, html));
+        }
+        return new SeleniumReplayWebDriver(pages);
+    }
+
+    /**
+     * The wait strategy, that replays the next recorded page instead of sleeping.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class NextPageWaitStrategy implements SeleniumWaitStrategy {
+
+        private final SeleniumReplayWebDriver _webDriver;
+
+        private final int _maxAttempts;
+
+        NextPageWaitStrategy(final SeleniumReplayWebDriver webDriver, final int maxAttempts) {
+            super();
+            _webDriver = webDriver;
+            _maxAttempts = maxAttempts;
+        }
+
+        @Override
+        public long getTimeOutInNanos() {
+            return TimeUnit.SECONDS.toNanos(10);
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return _maxAttempts;
+        }
+
+        @Override
+        public long getSleepInNanos(final int attempt) {
+            _webDriver.nextPage();
+            return 0;
+        }
+
+    }
+
+}
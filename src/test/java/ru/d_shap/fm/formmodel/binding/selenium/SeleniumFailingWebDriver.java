@@ -0,0 +1,83 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * The web driver for the tests, that fails the first calls of the script with the specified tag, and
+ * delegates all other calls to the wrapped web driver.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumFailingWebDriver implements InvocationHandler {
+
+    private final WebDriver _webDriver;
+
+    private final String _scriptTag;
+
+    private final int _failureCount;
+
+    private final WebDriverException _exception;
+
+    private final AtomicInteger _scriptCount;
+
+    private SeleniumFailingWebDriver(final WebDriver webDriver, final String scriptTag, final int failureCount, final WebDriverException exception) {
+        super();
+        _webDriver = webDriver;
+        _scriptTag = "/* fm:" + scriptTag + " */";
+        _failureCount = failureCount;
+        _exception = exception;
+        _scriptCount = new AtomicInteger();
+    }
+
+    static SeleniumFailingWebDriver create(final WebDriver webDriver, final String scriptTag, final int failureCount, final WebDriverException exception) {
+        return new SeleniumFailingWebDriver(webDriver, scriptTag, failureCount, exception);
+    }
+
+    WebDriver getWebDriver() {
+        return (WebDriver) Proxy.newProxyInstance(SeleniumFailingWebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, this);
+    }
+
+    int getScriptCount() {
+        return _scriptCount.get();
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getName().startsWith("execute") && String.valueOf(args[0]).startsWith(_scriptTag) && _scriptCount.incrementAndGet() <= _failureCount) {
+            throw _exception;
+        }
+        try {
+            return method.invoke(_webDriver, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+}
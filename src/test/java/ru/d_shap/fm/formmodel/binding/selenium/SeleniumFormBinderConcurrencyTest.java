@@ -0,0 +1,346 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for the concurrent use of {@link SeleniumFormBinder}. Many threads use the same form binder,
+ * the same web drivers and the same binded elements, and the results are checked by every thread.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumFormBinderConcurrencyTest {
+
+    private static final int THREAD_COUNT = 64;
+
+    private static final int ITERATION_COUNT = 50;
+
+    private static final int WEB_DRIVER_COUNT = 4;
+
+    private static final int PAGE_SIZE_IN_KB = 10;
+
+    private static final int ELEMENT_COUNT = 20;
+
+    private static final int LOOKUP_CACHE_SIZE = 16;
+
+    private static final int DOCUMENT_CACHE_SIZE = 4;
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumFormBinderConcurrencyTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumFormBinderStatistics} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void statisticsTest() throws Exception {
+        SeleniumFormBinderStatistics statistics = new SeleniumFormBinderStatistics();
+        runConcurrently(new StatisticsTask(statistics));
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT, statistics.getSnapshotCount());
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT, statistics.getCompressedSnapshotCount());
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT * 3L, statistics.getCompressedSnapshotHtmlLength());
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT * 2L, statistics.getCompressedSnapshotTransferLength());
+        Assert.assertEquals(0, statistics.getParseCount());
+    }
+
+    /**
+     * {@link SeleniumBindedElementImpl} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void bindedElementsTest() throws Exception {
+        SeleniumReplayWebDriver webDriver = SeleniumBenchmarkPage.createWebDriver(PAGE_SIZE_IN_KB, ELEMENT_COUNT);
+        org.jsoup.nodes.Document document = Jsoup.parse(SeleniumBenchmarkPage.createHtml(PAGE_SIZE_IN_KB, ELEMENT_COUNT), SeleniumBenchmarkPage.BASE_URL);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        List<SeleniumBindedElementImpl> bindedElements = new ArrayList<>();
+        for (Element element : document.select("input.field")) {
+            bindedElements.add(new SeleniumBindedElementImpl(webDriver, new SeleniumTestHtmlBindedElement(element), context, null, null, false));
+        }
+        Assert.assertEquals(ELEMENT_COUNT, bindedElements.size());
+        runConcurrently(new BindedElementTask(bindedElements));
+    }
+
+    /**
+     * {@link SeleniumFormBinder} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void bindTest() throws Exception {
+        SeleniumFormBinder formBinder = new SeleniumFormBinder(SeleniumBenchmarkPage.createFormDefinitions());
+        formBinder.setLookupCacheSize(LOOKUP_CACHE_SIZE);
+        formBinder.setDocumentCacheSize(DOCUMENT_CACHE_SIZE);
+        List<SeleniumReplayWebDriver> webDrivers = new ArrayList<>();
+        for (int i = 0; i < WEB_DRIVER_COUNT; i++) {
+            webDrivers.add(SeleniumBenchmarkPage.createWebDriver(PAGE_SIZE_IN_KB, ELEMENT_COUNT));
+        }
+        runConcurrently(new BindTask(formBinder, webDrivers));
+        SeleniumFormBinderStatistics statistics = formBinder.getStatistics();
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT, statistics.getSnapshotCount());
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT, statistics.getLookupCacheHitCount() + statistics.getLookupCacheMissCount());
+        Assert.assertEquals(0, statistics.getStaleElementFailureCount());
+    }
+
+    /**
+     * {@link SeleniumFormBinder} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void bindWithChangingPagesTest() throws Exception {
+        SeleniumFormBinder formBinder = new SeleniumFormBinder(SeleniumBenchmarkPage.createFormDefinitions());
+        formBinder.setLookupCacheSize(LOOKUP_CACHE_SIZE);
+        formBinder.setDocumentCacheSize(DOCUMENT_CACHE_SIZE);
+        List<SeleniumReplayPage> pages = new ArrayList<>();
+        for (int i = 1; i <= ELEMENT_COUNT; i++) {
+            pages.add(new SeleniumReplayPage(SeleniumBenchmarkPage.BASE_URL, SeleniumBenchmarkPage.createHtml(PAGE_SIZE_IN_KB, i)));
+        }
+        SeleniumReplayWebDriver webDriver = new SeleniumReplayWebDriver(pages);
+        webDriver.setSnapshotsPerPage(THREAD_COUNT);
+        runConcurrently(new ChangingPageBindTask(formBinder, webDriver));
+        Assert.assertEquals(THREAD_COUNT * ITERATION_COUNT, formBinder.getStatistics().getSnapshotCount());
+    }
+
+    private static void runConcurrently(final ConcurrentTask concurrentTask) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executorService.submit(new ConcurrentTaskCallable(concurrentTask, i, startLatch)));
+            }
+            startLatch.countDown();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw ex;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The task, performed by every thread.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private interface ConcurrentTask {
+
+        /**
+         * Perform the task.
+         *
+         * @param threadIndex the index of the thread.
+         *
+         * @throws Exception exception in task.
+         */
+        void perform(int threadIndex) throws Exception;
+
+    }
+
+    /**
+     * The callable, that waits for all threads to start and then performs the task.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ConcurrentTaskCallable implements Callable<Void> {
+
+        private final ConcurrentTask _concurrentTask;
+
+        private final int _threadIndex;
+
+        private final CountDownLatch _startLatch;
+
+        ConcurrentTaskCallable(final ConcurrentTask concurrentTask, final int threadIndex, final CountDownLatch startLatch) {
+            super();
+            _concurrentTask = concurrentTask;
+            _threadIndex = threadIndex;
+            _startLatch = startLatch;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            _startLatch.await();
+            _concurrentTask.perform(_threadIndex);
+            return null;
+        }
+
+    }
+
+    /**
+     * The task, that updates the statistics.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class StatisticsTask implements ConcurrentTask {
+
+        private final SeleniumFormBinderStatistics _statistics;
+
+        StatisticsTask(final SeleniumFormBinderStatistics statistics) {
+            super();
+            _statistics = statistics;
+        }
+
+        @Override
+        public void perform(final int threadIndex) {
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                _statistics.incrementSnapshotCount();
+                _statistics.addCompressedSnapshot(3, 2);
+            }
+        }
+
+    }
+
+    /**
+     * The task, that resolves the shared binded elements and clears them as stale.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class BindedElementTask implements ConcurrentTask {
+
+        private final List<SeleniumBindedElementImpl> _bindedElements;
+
+        BindedElementTask(final List<SeleniumBindedElementImpl> bindedElements) {
+            super();
+            _bindedElements = bindedElements;
+        }
+
+        @Override
+        public void perform(final int threadIndex) {
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                int index = (threadIndex + i) % _bindedElements.size();
+                SeleniumBindedElementImpl bindedElement = _bindedElements.get(index);
+                Assert.assertEquals(bindedElement.getElement().cssSelector(), bindedElement.cssSelector());
+                WebElement webElement = bindedElement.getWebElement();
+                Assert.assertEquals("field-" + index, webElement.getAttribute("name"));
+                if (i % 2 == 0) {
+                    bindedElement.clearStaleWebElement(webElement);
+                }
+                Assert.assertEquals("field-" + index, bindedElement.getWebElement().getAttribute("name"));
+            }
+        }
+
+    }
+
+    /**
+     * The task, that binds the form with the shared web drivers and checks the binded elements.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class BindTask implements ConcurrentTask {
+
+        private final SeleniumFormBinder _formBinder;
+
+        private final List<SeleniumReplayWebDriver> _webDrivers;
+
+        BindTask(final SeleniumFormBinder formBinder, final List<SeleniumReplayWebDriver> webDrivers) {
+            super();
+            _formBinder = formBinder;
+            _webDrivers = webDrivers;
+        }
+
+        @Override
+        public void perform(final int threadIndex) {
+            SeleniumReplayWebDriver webDriver = _webDrivers.get(threadIndex % _webDrivers.size());
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                Document document = _formBinder.bind(webDriver, SeleniumBenchmarkPage.FORM_ID);
+                List<SeleniumBindedElement> bindedElements = _formBinder.getBindedElementsWithId(document, SeleniumBenchmarkPage.FIELD_ID);
+                Assert.assertEquals(ELEMENT_COUNT, bindedElements.size());
+                Assert.assertEquals(bindedElements, _formBinder.getBindedElementsWithAttribute(document, "id", SeleniumBenchmarkPage.FIELD_ID));
+                int index = (threadIndex + i) % ELEMENT_COUNT;
+                SeleniumBindedElement bindedElement = bindedElements.get(index);
+                Assert.assertEquals("field-" + index, bindedElement.getAttribute("name"));
+                Assert.assertEquals("field-" + index, bindedElement.getWebElement().getAttribute("name"));
+                Assert.assertNotNull(_formBinder.getBindedElementWithId(document, SeleniumBenchmarkPage.SUBMIT_ID).getWebElement());
+            }
+        }
+
+    }
+
+    /**
+     * The task, that binds the form with the shared web driver, replaying the pages with the growing
+     * number of the elements, and checks that every binding result is consistent.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ChangingPageBindTask implements ConcurrentTask {
+
+        private final SeleniumFormBinder _formBinder;
+
+        private final SeleniumReplayWebDriver _webDriver;
+
+        ChangingPageBindTask(final SeleniumFormBinder formBinder, final SeleniumReplayWebDriver webDriver) {
+            super();
+            _formBinder = formBinder;
+            _webDriver = webDriver;
+        }
+
+        @Override
+        public void perform(final int threadIndex) {
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                Document document = _formBinder.bind(_webDriver, SeleniumBenchmarkPage.FORM_ID);
+                List<SeleniumBindedElement> bindedElements = _formBinder.getBindedElementsWithId(document, SeleniumBenchmarkPage.FIELD_ID);
+                Assert.assertFalse(bindedElements.isEmpty());
+                List<String> names = new ArrayList<>();
+                for (SeleniumBindedElement bindedElement : bindedElements) {
+                    names.add(bindedElement.getAttribute("name"));
+                }
+                List<String> expectedNames = new ArrayList<>();
+                for (int j = 0; j < bindedElements.size(); j++) {
+                    expectedNames.add("field-" + j);
+                }
+                Assert.assertEquals(expectedNames, names);
+                Assert.assertEquals(bindedElements, _formBinder.getBindedElementsWithAttribute(document, "id", SeleniumBenchmarkPage.FIELD_ID));
+            }
+        }
+
+    }
+
+}
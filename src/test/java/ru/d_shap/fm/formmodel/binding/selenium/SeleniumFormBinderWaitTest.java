@@ -0,0 +1,373 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jsoup.nodes.Document;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import ru.d_shap.fm.formmodel.binding.FormBinder;
+import ru.d_shap.fm.formmodel.binding.FormBindingException;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Tests for {@link SeleniumFormBinderWait}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumFormBinderWaitTest {
+
+    private static final String URL = "http://localhost/page";
+
+    private static final String NO_FORM_HTML = "<html><head></head><body><p>loading</p></body></html>";
+
+    private static final String FORM_HTML = "<html><head></head><body><p>form</p><form id=\"form\"></form></body></html>";
+
+    private static final String NO_FORM_TEXT = "loading";
+
+    private static final String FORM_TEXT = "form";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumFormBinderWaitTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void firstAttemptTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        BindListener bindListener = new BindListener();
+        context.setBindListener(bindListener);
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        String result = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 5)).bind();
+        Assert.assertEquals("form", result);
+        Assert.assertEquals(Arrays.asList(FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(1L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(0L, context.getStatistics().getSkippedBindCount());
+        Assert.assertEquals(1, bindListener._attemptCount);
+        Assert.assertNull(bindListener._exception);
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void unchangedPageTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        BindListener bindListener = new BindListener();
+        context.setBindListener(bindListener);
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        try {
+            createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 5)).bind();
+            Assert.fail("Form is bound");
+        } catch (FormBindingException ex) {
+            Assert.assertSame(bindAttempt._lastException, ex);
+            Assert.assertSame(ex, bindListener._exception);
+        }
+        Assert.assertEquals(Arrays.asList(NO_FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(5L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(4L, context.getStatistics().getSkippedParseCount());
+        Assert.assertEquals(4L, context.getStatistics().getSkippedBindCount());
+        Assert.assertEquals(5, bindListener._attemptCount);
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void changedPageTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_FORM_HTML, "<html><head></head><body><p>still loading</p></body></html>", NO_FORM_HTML, NO_FORM_HTML, FORM_HTML);
+        webDriver.setSnapshotsPerPage(1);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        String result = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 10)).bind();
+        Assert.assertEquals("form", result);
+        Assert.assertEquals(Arrays.asList(NO_FORM_TEXT, "still loading", NO_FORM_TEXT, FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(5L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(1L, context.getStatistics().getSkippedBindCount());
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void loadingPageTest() {
+        WebDriver webDriver = createLoadingWebDriver(2, NO_FORM_HTML, FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        String result = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 10)).bind();
+        Assert.assertEquals("form", result);
+        Assert.assertEquals(Arrays.asList(FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(3L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(2L, context.getStatistics().getSkippedBindCount());
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void loadingPageAfterFailedAttemptTest() {
+        WebDriver webDriver = createLoadingWebDriver(1, NO_FORM_HTML, NO_FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        try {
+            createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 4)).bind();
+            Assert.fail("Form is bound");
+        } catch (FormBindingException ex) {
+            Assert.assertSame(bindAttempt._lastException, ex);
+        }
+        Assert.assertEquals(Arrays.asList(NO_FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(4L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(3L, context.getStatistics().getSkippedBindCount());
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void lastAttemptOnLoadingPageTest() {
+        WebDriver webDriver = createLoadingWebDriver(Integer.MAX_VALUE, FORM_HTML, FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        BindListener bindListener = new BindListener();
+        context.setBindListener(bindListener);
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        String result = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 3)).bind();
+        Assert.assertEquals("form", result);
+        Assert.assertEquals(1, bindAttempt._texts.size());
+        Assert.assertEquals(3L, context.getStatistics().getSnapshotCount());
+        Assert.assertEquals(3L, context.getStatistics().getSkippedBindCount());
+        Assert.assertEquals(3, bindListener._attemptCount);
+        Assert.assertNull(bindListener._exception);
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     */
+    @Test
+    public void timeOutTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_FORM_HTML, FORM_HTML);
+        webDriver.setSnapshotsPerPage(1);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        try {
+            createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.fixed(0L, 1L)).bind();
+            Assert.fail("Form is bound");
+        } catch (FormBindingException ex) {
+            Assert.assertSame(bindAttempt._lastException, ex);
+        }
+        Assert.assertEquals(1L, context.getStatistics().getSnapshotCount());
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     *
+     * @throws InterruptedException if the current thread is interrupted.
+     * @throws ExecutionException   if the binding fails.
+     */
+    @Test
+    public void bindAsyncTest() throws InterruptedException, ExecutionException {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_FORM_HTML, NO_FORM_HTML, FORM_HTML);
+        webDriver.setSnapshotsPerPage(1);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        BindListener bindListener = new BindListener();
+        context.setBindListener(bindListener);
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Future<String> future = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 10)).bindAsync(scheduledExecutorService);
+            Assert.assertEquals("form", future.get());
+            Assert.assertTrue(future.isDone());
+            Assert.assertFalse(future.isCancelled());
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+        Assert.assertEquals(Arrays.asList(NO_FORM_TEXT, FORM_TEXT), bindAttempt._texts);
+        Assert.assertEquals(1L, context.getStatistics().getSkippedBindCount());
+        Assert.assertEquals(3, bindListener._attemptCount);
+    }
+
+    /**
+     * {@link SeleniumFormBinderWait} class test.
+     *
+     * @throws InterruptedException if the current thread is interrupted.
+     */
+    @Test
+    public void bindAsyncFailureTest() throws InterruptedException {
+        SeleniumReplayWebDriver webDriver = createWebDriver(NO_FORM_HTML);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        FormBindAttempt bindAttempt = new FormBindAttempt();
+        ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Future<String> future = createWait(webDriver, context, bindAttempt, SeleniumWaitStrategies.withMaxAttempts(SeleniumWaitStrategies.fixed(10L, 1L), 3)).bindAsync(scheduledExecutorService);
+            future.get(10L, TimeUnit.SECONDS);
+            Assert.fail("Form is bound");
+        } catch (ExecutionException ex) {
+            Assert.assertSame(bindAttempt._lastException, ex.getCause());
+        } catch (TimeoutException ex) {
+            Assert.fail("Binding is not finished");
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+        Assert.assertEquals(1, bindAttempt._texts.size());
+        Assert.assertEquals(2L, context.getStatistics().getSkippedBindCount());
+    }
+
+    private static SeleniumReplayWebDriver createWebDriver(final String... htmls) {
+        List<SeleniumReplayPage> pages = new ArrayList<>();
+        for (String html : htmls) {
+            pages.add(new SeleniumReplayPage(URL, html));
+        }
+        return new SeleniumReplayWebDriver(pages);
+    }
+
+    private static WebDriver createLoadingWebDriver(final int loadingSnapshotCount, final String loadingHtml, final String completeHtml) {
+        return (WebDriver) Proxy.newProxyInstance(SeleniumFormBinderWaitTest.class.getClassLoader(), new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, new LoadingPageHandler(loadingSnapshotCount, loadingHtml, completeHtml));
+    }
+
+    private static SeleniumFormBinderWait<String> createWait(final WebDriver webDriver, final SeleniumFormBinderContext context, final FormBindAttempt bindAttempt, final SeleniumWaitStrategy waitStrategy) {
+        SeleniumBindingSourceImpl seleniumBindingSource = new SeleniumBindingSourceImpl(webDriver, context, null);
+        return new SeleniumFormBinderWait<>(null, seleniumBindingSource, bindAttempt, null, waitStrategy);
+    }
+
+    /**
+     * The bind attempt, that binds the form, if the document contains the form element.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FormBindAttempt implements SeleniumFormBinderWait.BindAttempt<String> {
+
+        private final List<String> _texts;
+
+        private FormBindingException _lastException;
+
+        FormBindAttempt() {
+            super();
+            _texts = new ArrayList<>();
+            _lastException = null;
+        }
+
+        @Override
+        public String tryBind(final FormBinder formBinder, final SeleniumBindingSource seleniumBindingSource) {
+            Document document = seleniumBindingSource.getDocument();
+            _texts.add(document.body().text());
+            if (document.getElementById("form") == null) {
+                _lastException = new FormBindingException("Form is not present");
+                throw _lastException;
+            }
+            return "form";
+        }
+
+    }
+
+    /**
+     * The bind listener, that records the result of the binding.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class BindListener extends SeleniumBindListenerAdapter {
+
+        private int _attemptCount;
+
+        private RuntimeException _exception;
+
+        BindListener() {
+            super();
+            _attemptCount = 0;
+            _exception = null;
+        }
+
+        @Override
+        public void bindFinished(final WebDriver webDriver, final FormDefinition formDefinition, final int attemptCount, final long waitTimeInNanos, final long durationInNanos, final RuntimeException exception) {
+            _attemptCount = attemptCount;
+            _exception = exception;
+        }
+
+    }
+
+    /**
+     * The web driver, that reports the loading document for the specified number of the page snapshots
+     * and the complete document after them.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class LoadingPageHandler implements InvocationHandler {
+
+        private final int _loadingSnapshotCount;
+
+        private final String _loadingHtml;
+
+        private final String _completeHtml;
+
+        private int _snapshotCount;
+
+        LoadingPageHandler(final int loadingSnapshotCount, final String loadingHtml, final String completeHtml) {
+            super();
+            _loadingSnapshotCount = loadingSnapshotCount;
+            _loadingHtml = loadingHtml;
+            _completeHtml = completeHtml;
+            _snapshotCount = 0;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if ("executeScript".equals(method.getName()) && ((String) args[0]).startsWith("/* fm:snapshot */")) {
+                Map<String, Object> snapshot = new HashMap<>();
+                snapshot.put("baseUrl", URL);
+                if (_snapshotCount < _loadingSnapshotCount) {
+                    snapshot.put("html", _loadingHtml);
+                    snapshot.put("readyState", "loading");
+                } else {
+                    snapshot.put("html", _completeHtml);
+                    snapshot.put("readyState", "complete");
+                }
+                _snapshotCount++;
+                return snapshot;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tests for {@link SeleniumFramePath}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumFramePathTest {
+
+    private static final String FRAME_LOOKUP = "iframe";
+
+    private static final String SNAPSHOT_HTML = "<html><body><input name='top'><fm-frame data-fm-frame='1'><fm-frame data-fm-frame='0'><input name='inner'></fm-frame></fm-frame></body></html>";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumFramePathTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumFramePath} class test.
+     */
+    @Test
+    public void createTest() {
+        Document document = Jsoup.parse(SNAPSHOT_HTML);
+        Assert.assertNull(SeleniumFramePath.create(document.selectFirst("input[name=inner]"), null));
+        Assert.assertTrue(SeleniumFramePath.create(document.selectFirst("input[name=top]"), FRAME_LOOKUP).isTopLevel());
+        Assert.assertFalse(SeleniumFramePath.create(document.selectFirst("input[name=inner]"), FRAME_LOOKUP).isTopLevel());
+        Assert.assertEquals(SeleniumFramePath.create(document.selectFirst("input[name=inner]"), FRAME_LOOKUP), SeleniumFramePath.create(document.selectFirst("fm-frame[data-fm-frame=0] > input"), FRAME_LOOKUP));
+        Assert.assertNotEquals(SeleniumFramePath.create(document.selectFirst("input[name=inner]"), FRAME_LOOKUP), SeleniumFramePath.create(document.selectFirst("input[name=top]"), FRAME_LOOKUP));
+    }
+
+    /**
+     * {@link SeleniumFramePath} class test.
+     */
+    @Test
+    public void switchToSelectedFrameTest() {
+        FrameWebDriver frameWebDriver = new FrameWebDriver(Arrays.asList(1L, 0L));
+        createInnerFramePath().switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("executeScript"), frameWebDriver._calls);
+    }
+
+    /**
+     * {@link SeleniumFramePath} class test.
+     */
+    @Test
+    public void switchToFrameSwitchedByOtherCodeTest() {
+        FrameWebDriver frameWebDriver = new FrameWebDriver(Arrays.asList(1L));
+        createInnerFramePath().switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("executeScript", "defaultContent", "findElements", "frame", "findElements", "frame"), frameWebDriver._calls);
+
+        frameWebDriver = new FrameWebDriver(new ArrayList<Object>());
+        createInnerFramePath().switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("executeScript", "defaultContent", "findElements", "frame", "findElements", "frame"), frameWebDriver._calls);
+
+        frameWebDriver = new FrameWebDriver(null);
+        createInnerFramePath().switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("executeScript", "defaultContent", "findElements", "frame", "findElements", "frame"), frameWebDriver._calls);
+    }
+
+    /**
+     * {@link SeleniumFramePath} class test.
+     */
+    @Test
+    public void switchToFrameWithFailedScriptTest() {
+        FrameWebDriver frameWebDriver = new FrameWebDriver(new JavascriptException("Script failed"));
+        createInnerFramePath().switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("executeScript", "defaultContent", "findElements", "frame", "findElements", "frame"), frameWebDriver._calls);
+    }
+
+    /**
+     * {@link SeleniumFramePath} class test.
+     */
+    @Test
+    public void switchToTopLevelTest() {
+        FrameWebDriver frameWebDriver = new FrameWebDriver(new ArrayList<Object>());
+        Document document = Jsoup.parse(SNAPSHOT_HTML);
+        SeleniumFramePath.create(document.selectFirst("input[name=top]"), FRAME_LOOKUP).switchTo(frameWebDriver.getWebDriver());
+        Assert.assertEquals(Arrays.asList("defaultContent"), frameWebDriver._calls);
+    }
+
+    private static SeleniumFramePath createInnerFramePath() {
+        Document document = Jsoup.parse(SNAPSHOT_HTML);
+        Element element = document.selectFirst("input[name=inner]");
+        return SeleniumFramePath.create(element, FRAME_LOOKUP);
+    }
+
+    /**
+     * The web driver, that returns the specified result of the frame path script and records the calls.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FrameWebDriver implements InvocationHandler {
+
+        private final Object _framePathResult;
+
+        private final List<String> _calls;
+
+        FrameWebDriver(final Object framePathResult) {
+            super();
+            _framePathResult = framePathResult;
+            _calls = new ArrayList<>();
+        }
+
+        WebDriver getWebDriver() {
+            return (WebDriver) Proxy.newProxyInstance(FrameWebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class, WebDriver.TargetLocator.class, JavascriptExecutor.class}, this);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            String name = method.getName();
+            if ("switchTo".equals(name)) {
+                return proxy;
+            }
+            _calls.add(name);
+            switch (name) {
+                case "executeScript":
+                    if (_framePathResult instanceof RuntimeException) {
+                        throw (RuntimeException) _framePathResult;
+                    }
+                    return _framePathResult;
+                case "findElements":
+                    WebElement frame = (WebElement) Proxy.newProxyInstance(FrameWebDriver.class.getClassLoader(), new Class<?>[]{WebElement.class}, this);
+                    return Arrays.asList(frame, frame);
+                case "defaultContent":
+                case "frame":
+                    return proxy;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import ru.d_shap.fm.formmodel.document.DocumentLookup;
+
+/**
+ * Tests for {@link SeleniumLookupCache}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumLookupCacheTest {
+
+    private static final String XML = "<form id='form'>"
+        + "<element id='field' name='field1'><value>1</value></element>"
+        + "<element id='field' name='field2'><value>2</value></element>"
+        + "<group id='group'><element id='field' name='field3'/><element id='submit' name='submit'/></group>"
+        + "<element id='other' name='field.4'/>"
+        + "</form>";
+
+    private static final String[] LOOKUPS = {"//element", ".//element[@id='field']", "//group/*", "//element[value='2']", "count(//element)", "//*[", "//missing"};
+
+    private static final String[][] ATTRIBUTES = {{"id", "field"}, {"id", "submit"}, {"name", "field.4"}, {"name", "missing"}, {"data-x", "field"}, {"1id", "field"}, {"", "field"}};
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumLookupCacheTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumLookupCache} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void evictionTest() throws Exception {
+        Document document = createDocument();
+        SeleniumFormBinderStatistics statistics = new SeleniumFormBinderStatistics();
+        SeleniumLookupCache lookupCache = new SeleniumLookupCache(DocumentLookup.getDocumentLookup(), statistics);
+        Assert.assertEquals(0, lookupCache.getSize());
+        lookupCache.setMaxSize(2);
+
+        Assert.assertEquals(5, lookupCache.getElements(document, "//element").size());
+        Assert.assertEquals(1, lookupCache.getElements(document, "//group").size());
+        Assert.assertEquals(5, lookupCache.getElements(document, "//element").size());
+        Assert.assertEquals(2, lookupCache.getSize());
+        Assert.assertEquals(1, statistics.getLookupCacheHitCount());
+        Assert.assertEquals(2, statistics.getLookupCacheMissCount());
+
+        Assert.assertEquals(1, lookupCache.getElements(document, "//value[.='1']").size());
+        Assert.assertEquals(2, lookupCache.getSize());
+        Assert.assertEquals(5, lookupCache.getElements(document, "//element").size());
+        Assert.assertEquals(2, statistics.getLookupCacheHitCount());
+        Assert.assertEquals(3, statistics.getLookupCacheMissCount());
+        Assert.assertEquals(1, lookupCache.getElements(document, "//group").size());
+        Assert.assertEquals(2, statistics.getLookupCacheHitCount());
+        Assert.assertEquals(4, statistics.getLookupCacheMissCount());
+
+        Assert.assertEquals(3, lookupCache.getElementsWithAttribute(document, "id", "field").size());
+        Assert.assertEquals(1, lookupCache.getElementsWithAttribute(document, "id", "submit").size());
+        Assert.assertEquals(2, lookupCache.getSize());
+        Assert.assertEquals(3, statistics.getLookupCacheHitCount());
+        Assert.assertEquals(5, statistics.getLookupCacheMissCount());
+
+        lookupCache.setMaxSize(1);
+        Assert.assertEquals(1, lookupCache.getSize());
+        lookupCache.setMaxSize(0);
+        Assert.assertEquals(0, lookupCache.getSize());
+    }
+
+    /**
+     * {@link SeleniumLookupCache} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void sameResultTest() throws Exception {
+        Document document = createDocument();
+        DocumentLookup documentLookup = DocumentLookup.getDocumentLookup();
+        SeleniumFormBinderStatistics statistics = new SeleniumFormBinderStatistics();
+        SeleniumLookupCache lookupCache = new SeleniumLookupCache(documentLookup, statistics);
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(document);
+        nodes.add(document.getDocumentElement());
+        nodes.add(document.getElementsByTagName("group").item(0));
+        for (int maxSize : new int[]{0, 2, 256}) {
+            lookupCache.setMaxSize(maxSize);
+            for (int i = 0; i < 2; i++) {
+                for (Node node : nodes) {
+                    assertSameResult(documentLookup, lookupCache, node);
+                }
+            }
+        }
+        Assert.assertTrue(statistics.getLookupCacheHitCount() > 0);
+    }
+
+    private static void assertSameResult(final DocumentLookup documentLookup, final SeleniumLookupCache lookupCache, final Node node) {
+        for (String lookup : LOOKUPS) {
+            Assert.assertEquals(getLookupResult(documentLookup, node, lookup), getLookupResult(lookupCache, node, lookup));
+        }
+        for (String[] attribute : ATTRIBUTES) {
+            Assert.assertEquals(documentLookup.getElementsWithAttribute(node, attribute[0], attribute[1]), lookupCache.getElementsWithAttribute(node, attribute[0], attribute[1]));
+        }
+    }
+
+    private static Object getLookupResult(final DocumentLookup documentLookup, final Node node, final String lookup) {
+        try {
+            return documentLookup.getElements(node, lookup);
+        } catch (RuntimeException ex) {
+            return ex.getClass();
+        }
+    }
+
+    private static Object getLookupResult(final SeleniumLookupCache lookupCache, final Node node, final String lookup) {
+        try {
+            return lookupCache.getElements(node, lookup);
+        } catch (RuntimeException ex) {
+            return ex.getClass();
+        }
+    }
+
+    private static Document createDocument() throws Exception {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        return documentBuilderFactory.newDocumentBuilder().parse(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
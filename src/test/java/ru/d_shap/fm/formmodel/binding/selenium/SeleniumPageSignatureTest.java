@@ -0,0 +1,143 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SeleniumPageSignature}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumPageSignatureTest {
+
+    private static final String HTML = "<html><head></head><body><FORM id=\"Login\" class=\"form wide\"><INPUT name=\"user\" data-role=\"login-field\" disabled><input name=\"a&amp;b\" type=\"submit\"></FORM></body></html>";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumPageSignatureTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void emptySignatureTest() {
+        Assert.assertTrue(SeleniumPageSignature.create(null, Collections.<String>emptyList()).isEmpty());
+        Assert.assertTrue(SeleniumPageSignature.create(null, Collections.<String>emptyList()).matches(""));
+        Assert.assertTrue(createSignature("form, div").isEmpty());
+        Assert.assertTrue(createSignature("input:first-child").isEmpty());
+        Assert.assertTrue(createSignature("#a\\.b").isEmpty());
+        Assert.assertTrue(createSignature("[name='user' i]").isEmpty());
+        Assert.assertTrue(createSignature("[name='user'").isEmpty());
+        Assert.assertTrue(createSignature("[na me]").isEmpty());
+        Assert.assertTrue(createSignature("[=user]").isEmpty());
+        Assert.assertTrue(createSignature("[name=us er]").isEmpty());
+        Assert.assertTrue(createSignature("#").isEmpty());
+        Assert.assertTrue(createSignature(".").isEmpty());
+        Assert.assertTrue(createSignature("*").isEmpty());
+        Assert.assertTrue(createSignature(" > ").isEmpty());
+        Assert.assertTrue(SeleniumPageSignature.create("form, div", Arrays.asList("a:hover", "*")).isEmpty());
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void typeSelectorTest() {
+        Assert.assertTrue(createSignature("form").matches(HTML));
+        Assert.assertTrue(createSignature("FORM > input").matches(HTML));
+        Assert.assertTrue(createSignature("body form + input ~ input").matches(HTML));
+        Assert.assertFalse(createSignature("select").matches(HTML));
+        Assert.assertFalse(createSignature("form > textarea").matches(HTML));
+        Assert.assertFalse(createSignature("in").matches("<html><body>input</body></html>"));
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void idAndClassSelectorTest() {
+        Assert.assertTrue(createSignature("#Login").matches(HTML));
+        Assert.assertTrue(createSignature("form#Login.wide").matches(HTML));
+        Assert.assertFalse(createSignature("#Logout").matches(HTML));
+        Assert.assertFalse(createSignature(".narrow").matches(HTML));
+        Assert.assertFalse(createSignature("#Login").matches("<html><body><form name=\"Login\"></form></body></html>"));
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void attributeSelectorTest() {
+        Assert.assertTrue(createSignature("[disabled]").matches(HTML));
+        Assert.assertTrue(createSignature("input[name=user]").matches(HTML));
+        Assert.assertTrue(createSignature("input[name='user']").matches(HTML));
+        Assert.assertTrue(createSignature("input[name=\"user\"]").matches(HTML));
+        Assert.assertTrue(createSignature("[data-role^=login]").matches(HTML));
+        Assert.assertTrue(createSignature("[data-role$='field']").matches(HTML));
+        Assert.assertTrue(createSignature("[data-role*=\"in-fi\"]").matches(HTML));
+        Assert.assertTrue(createSignature("[DATA-ROLE~=login-field]").matches(HTML));
+        Assert.assertTrue(createSignature("[data-role|=login]").matches(HTML));
+        Assert.assertTrue(createSignature("[name='a&b']").matches(HTML));
+        Assert.assertTrue(createSignature("[name='']").matches(HTML));
+        Assert.assertFalse(createSignature("[readonly]").matches(HTML));
+        Assert.assertFalse(createSignature("[name=password]").matches(HTML));
+        Assert.assertFalse(createSignature("[data-role^=logout]").matches(HTML));
+        Assert.assertFalse(createSignature("[placeholder='a&b']").matches(HTML));
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void attributeValueCaseTest() {
+        Assert.assertTrue(SeleniumPageSignature.create("#Login", Collections.<String>emptyList()).matches(HTML));
+        Assert.assertFalse(SeleniumPageSignature.create("#LOGIN", Collections.<String>emptyList()).matches(HTML));
+        Assert.assertFalse(SeleniumPageSignature.create("[name=USER]", Collections.<String>emptyList()).matches(HTML));
+        Assert.assertTrue(createSignature("#LOGIN").matches(HTML));
+        Assert.assertTrue(createSignature("[name=USER]").matches(HTML));
+        Assert.assertTrue(createSignature(".WIDE").matches(HTML));
+    }
+
+    /**
+     * {@link SeleniumPageSignature} class test.
+     */
+    @Test
+    public void combinedLookupsTest() {
+        SeleniumPageSignature pageSignature = SeleniumPageSignature.create("form#Login", Arrays.asList("input[name=user]", "input[type=submit]", "a:hover", "form#Login"));
+        Assert.assertFalse(pageSignature.isEmpty());
+        Assert.assertTrue(pageSignature.matches(HTML));
+        Assert.assertFalse(pageSignature.matches(HTML.replace("submit", "button")));
+        Assert.assertFalse(pageSignature.matches(HTML.replace("Login", "login")));
+        Assert.assertTrue(pageSignature.matches(HTML.replace("user", "USER")));
+    }
+
+    private static SeleniumPageSignature createSignature(final String lookup) {
+        return SeleniumPageSignature.create(null, Collections.singletonList(lookup));
+    }
+
+}
@@ -0,0 +1,117 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayPage;
+import ru.d_shap.fm.formmodel.binding.selenium.replay.SeleniumReplayWebDriver;
+
+/**
+ * Tests for {@link SeleniumWebElementResolver}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumWebElementResolverTest {
+
+    private static final String URL = "http://localhost/page";
+
+    private static final String PAGE_HTML = "<html><body><form><input name='field1'><input name='field2'><input name='field3'></form></body></html>";
+
+    private static final String SNAPSHOT_HTML = "<html><body><form><input name='field1'><input name='field2'><input name='field3'><input name='field4'></form></body></html>";
+
+    /**
+     * Test class constructor.
+     */
+    public SeleniumWebElementResolverTest() {
+        super();
+    }
+
+    /**
+     * {@link SeleniumWebElementResolver} class test.
+     */
+    @Test
+    public void resolveWebElementsTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver();
+        List<SeleniumBindedElementImpl> bindedElements = createBindedElements(webDriver, PAGE_HTML);
+        long callCount = webDriver.getCallCount();
+        SeleniumWebElementResolver.resolveWebElements(bindedElements);
+        Assert.assertEquals(callCount + 1, webDriver.getCallCount());
+        for (int i = 0; i < bindedElements.size(); i++) {
+            Assert.assertTrue(bindedElements.get(i).isWebElementResolved());
+            Assert.assertEquals("field" + (i + 1), bindedElements.get(i).getWebElement().getAttribute("name"));
+        }
+    }
+
+    /**
+     * {@link SeleniumWebElementResolver} class test.
+     */
+    @Test
+    public void resolveWebElementsWithMissingElementTest() {
+        SeleniumReplayWebDriver webDriver = createWebDriver();
+        List<SeleniumBindedElementImpl> bindedElements = createBindedElements(webDriver, SNAPSHOT_HTML);
+        SeleniumWebElementResolver.resolveWebElements(bindedElements);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(bindedElements.get(i).isWebElementResolved());
+        }
+        Assert.assertFalse(bindedElements.get(3).isWebElementResolved());
+    }
+
+    /**
+     * {@link SeleniumWebElementResolver} class test.
+     */
+    @Test
+    public void resolveWebElementsWithFailedScriptTest() {
+        SeleniumFailingWebDriver failingWebDriver = SeleniumFailingWebDriver.create(createWebDriver(), "resolve", Integer.MAX_VALUE, new WebDriverException("script failed"));
+        List<SeleniumBindedElementImpl> bindedElements = createBindedElements(failingWebDriver.getWebDriver(), SNAPSHOT_HTML);
+        SeleniumWebElementResolver.resolveWebElements(bindedElements);
+        Assert.assertEquals(1, failingWebDriver.getScriptCount());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(bindedElements.get(i).isWebElementResolved());
+            Assert.assertEquals("field" + (i + 1), bindedElements.get(i).getWebElement().getAttribute("name"));
+        }
+        Assert.assertFalse(bindedElements.get(3).isWebElementResolved());
+    }
+
+    private static SeleniumReplayWebDriver createWebDriver() {
+        return new SeleniumReplayWebDriver(Collections.singletonList(new SeleniumReplayPage(URL, PAGE_HTML)));
+    }
+
+    private static List<SeleniumBindedElementImpl> createBindedElements(final WebDriver webDriver, final String html) {
+        Document document = Jsoup.parse(html, URL);
+        SeleniumFormBinderContext context = new SeleniumFormBinderContext();
+        List<SeleniumBindedElementImpl> bindedElements = new ArrayList<>();
+        for (Element element : document.select("input")) {
+            bindedElements.add(new SeleniumBindedElementImpl(webDriver, new SeleniumTestHtmlBindedElement(element), context, null, null, false));
+        }
+        return bindedElements;
+    }
+
+}
@@ -0,0 +1,84 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The recorded page: the page URL and the page source.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumReplayPage {
+
+    private final String _url;
+
+    private final String _html;
+
+    /**
+     * Create new object.
+     *
+     * @param url  the page URL.
+     * @param html the page source.
+     */
+    public SeleniumReplayPage(final String url, final String html) {
+        super();
+        _url = url;
+        _html = html;
+    }
+
+    /**
+     * Load the page source from the file in the UTF-8 encoding.
+     *
+     * @param url  the page URL.
+     * @param file the file with the page source.
+     *
+     * @return the recorded page.
+     *
+     * @throws IOException if the file can not be read.
+     */
+    public static SeleniumReplayPage load(final String url, final File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        String html = new String(bytes, StandardCharsets.UTF_8);
+        return new SeleniumReplayPage(url, html);
+    }
+
+    /**
+     * Get the page URL.
+     *
+     * @return the page URL.
+     */
+    public String getUrl() {
+        return _url;
+    }
+
+    /**
+     * Get the page source.
+     *
+     * @return the page source.
+     */
+    public String getHtml() {
+        return _html;
+    }
+
+}
@@ -0,0 +1,145 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The recorder of the pages. Saves the page source and the URL of the web driver's current page to the
+ * recording directory. The recorded pages are replayed with {@link SeleniumReplayWebDriver}.
+ *
+ * <p>
+ * The recording directory contains the page source files and the recording file with the page URLs
+ * and the page source file names in the order of the recording.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumReplayRecorder {
+
+    static final String RECORDING_FILE_NAME = "recording.properties";
+
+    private static final String PAGE_COUNT_KEY = "page.count";
+
+    private static final String PAGE_KEY_PREFIX = "page.";
+
+    private static final String URL_KEY_SUFFIX = ".url";
+
+    private static final String FILE_KEY_SUFFIX = ".file";
+
+    private static final String PAGE_FILE_SUFFIX = ".html";
+
+    private final File _directory;
+
+    /**
+     * Create new object.
+     *
+     * @param directory the recording directory.
+     */
+    public SeleniumReplayRecorder(final File directory) {
+        super();
+        _directory = directory;
+    }
+
+    /**
+     * Save the web driver's current page to the recording directory.
+     *
+     * @param webDriver the web driver.
+     *
+     * @return the recorded page.
+     *
+     * @throws IOException if the page can not be saved.
+     */
+    public SeleniumReplayPage savePage(final WebDriver webDriver) throws IOException {
+        SeleniumReplayPage page = new SeleniumReplayPage(webDriver.getCurrentUrl(), webDriver.getPageSource());
+        savePage(page);
+        return page;
+    }
+
+    /**
+     * Save the page to the recording directory.
+     *
+     * @param page the page.
+     *
+     * @throws IOException if the page can not be saved.
+     */
+    public void savePage(final SeleniumReplayPage page) throws IOException {
+        synchronized (this) {
+            Files.createDirectories(_directory.toPath());
+            Properties properties = loadProperties(_directory);
+            int pageIndex = getPageCount(properties);
+            String fileName = PAGE_KEY_PREFIX + pageIndex + PAGE_FILE_SUFFIX;
+            Files.write(new File(_directory, fileName).toPath(), page.getHtml().getBytes(StandardCharsets.UTF_8));
+            properties.setProperty(PAGE_KEY_PREFIX + pageIndex + URL_KEY_SUFFIX, page.getUrl());
+            properties.setProperty(PAGE_KEY_PREFIX + pageIndex + FILE_KEY_SUFFIX, fileName);
+            properties.setProperty(PAGE_COUNT_KEY, String.valueOf(pageIndex + 1));
+            try (OutputStream outputStream = Files.newOutputStream(new File(_directory, RECORDING_FILE_NAME).toPath())) {
+                properties.store(outputStream, null);
+            }
+        }
+    }
+
+    /**
+     * Load the pages from the recording directory in the order of the recording.
+     *
+     * @param directory the recording directory.
+     *
+     * @return the recorded pages.
+     *
+     * @throws IOException if the pages can not be loaded.
+     */
+    public static List<SeleniumReplayPage> load(final File directory) throws IOException {
+        Properties properties = loadProperties(directory);
+        int pageCount = getPageCount(properties);
+        List<SeleniumReplayPage> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            String url = properties.getProperty(PAGE_KEY_PREFIX + i + URL_KEY_SUFFIX);
+            String fileName = properties.getProperty(PAGE_KEY_PREFIX + i + FILE_KEY_SUFFIX);
+            pages.add(SeleniumReplayPage.load(url, new File(directory, fileName)));
+        }
+        return pages;
+    }
+
+    private static Properties loadProperties(final File directory) throws IOException {
+        Properties properties = new Properties();
+        File file = new File(directory, RECORDING_FILE_NAME);
+        if (file.isFile()) {
+            try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                properties.load(inputStream);
+            }
+        }
+        return properties;
+    }
+
+    private static int getPageCount(final Properties properties) {
+        return Integer.parseInt(properties.getProperty(PAGE_COUNT_KEY, "0"));
+    }
+
+}
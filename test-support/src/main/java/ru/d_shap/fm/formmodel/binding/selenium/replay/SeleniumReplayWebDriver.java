@@ -0,0 +1,803 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.DocumentType;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The in-process web driver, that replays the recorded pages. The elements are found with the JSoup
+ * selectors on the parsed page source, and the actions with the elements modify the parsed page source,
+ * so the next page snapshot contains the modifications. Every web driver call can be delayed to simulate
+ * the latency of the remote web driver.
+ *
+ * <p>
+ * The scripts of the form binder are recognized by the tag comment at the start of the script, for example
+ * the comment with the {@code fm:snapshot} tag, and are emulated. Other scripts are not supported, so the
+ * form binder uses the fallback without the scripts. The snapshot script emulates the scoped snapshots
+ * of the root lookup and the DOM change tracking, but rejects the element markers, the frames and the shadow
+ * roots, so the form binder uses the full page source for these features. The DOM changes are the elements,
+ * modified by the actions of the web elements.
+ * </p>
+ * <p>
+ * The recorded pages have no frames and no other windows, so switching to the frames and to the top level
+ * context does not change the page.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SeleniumReplayWebDriver implements WebDriver, JavascriptExecutor {
+
+    private static final String SCRIPT_TAG_PREFIX = "/* fm:";
+
+    private static final String SCRIPT_TAG_SUFFIX = " */";
+
+    private static final String SNAPSHOT_TAG = "snapshot";
+
+    private static final String BASE_URL_TAG = "base-url";
+
+    private static final String RESOLVE_TAG = "resolve";
+
+    private static final String FILL_TAG = "fill";
+
+    private static final String CHANGES_TAG = "changes";
+
+    private static final String DOM_CHANGE_TAG = "dom-change";
+
+    private static final int SNAPSHOT_ROOT_LOOKUP_ARGUMENT = 0;
+
+    private static final int SNAPSHOT_MARKER_ARGUMENT = 1;
+
+    private static final int SNAPSHOT_FRAME_LOOKUP_ARGUMENT = 2;
+
+    private static final int SNAPSHOT_SHADOW_ROOTS_ARGUMENT = 3;
+
+    private static final int SNAPSHOT_TRACK_CHANGES_ARGUMENT = 4;
+
+    private static final String HTML_KEY = "html";
+
+    private static final String BASE_URL_KEY = "baseUrl";
+
+    private static final String READY_STATE_KEY = "readyState";
+
+    private static final String READY_STATE_COMPLETE = "complete";
+
+    private static final String CHANGE_GENERATION_KEY = "changeGeneration";
+
+    private static final String CHANGES_KEY = "changes";
+
+    private static final String PATH_KEY = "path";
+
+    private static final String CHILD_COUNTS_KEY = "childCounts";
+
+    private static final String TAG_NAME_KEY = "tagName";
+
+    private static final String ATTRIBUTES_KEY = "attributes";
+
+    private static final int MAX_CHANGE_SET_COUNT = 32;
+
+    private static final String BLANK_URL = "about:blank";
+
+    private static final String WINDOW_HANDLE = "replay";
+
+    private static final long DOM_CHANGE_POLL_IN_MILLIS = 10;
+
+    private final List<SeleniumReplayPage> _pages;
+
+    private final AtomicLong _callCount;
+
+    private volatile long _latencyInNanos;
+
+    private volatile int _snapshotsPerPage;
+
+    private int _pageIndex;
+
+    private Document _document;
+
+    private String _pageSource;
+
+    private int _snapshotCount;
+
+    private long _mutationCount;
+
+    private Map<String, ReplayChangeSet> _changeSets;
+
+    private long _changeGeneration;
+
+    /**
+     * Create new object.
+     *
+     * @param pages the recorded pages in the order of the replay.
+     */
+    public SeleniumReplayWebDriver(final List<SeleniumReplayPage> pages) {
+        super();
+        _pages = new ArrayList<>(pages);
+        _callCount = new AtomicLong();
+        _latencyInNanos = 0L;
+        _snapshotsPerPage = 0;
+        _mutationCount = 0L;
+        _changeGeneration = 0L;
+        setPageIndex(0);
+    }
+
+    /**
+     * Create the web driver with the pages, recorded by {@link SeleniumReplayRecorder}.
+     *
+     * @param directory the recording directory.
+     *
+     * @return the web driver.
+     *
+     * @throws IOException if the pages can not be loaded.
+     */
+    public static SeleniumReplayWebDriver load(final File directory) throws IOException {
+        return new SeleniumReplayWebDriver(SeleniumReplayRecorder.load(directory));
+    }
+
+    /**
+     * Set the latency of every web driver call.
+     *
+     * @param latency the latency.
+     * @param unit    the time unit of the latency.
+     */
+    public void setLatency(final long latency, final TimeUnit unit) {
+        _latencyInNanos = unit.toNanos(latency);
+    }
+
+    /**
+     * Set the number of the page snapshots, after which the next recorded page is replayed. So the pages,
+     * that change while the form binder waits for the form, can be simulated.
+     *
+     * @param snapshotsPerPage the number of the page snapshots or 0 to replay the page until the next navigation.
+     */
+    public void setSnapshotsPerPage(final int snapshotsPerPage) {
+        _snapshotsPerPage = snapshotsPerPage;
+    }
+
+    /**
+     * Get the number of the web driver calls, including the calls of the web elements.
+     *
+     * @return the number of the web driver calls.
+     */
+    public long getCallCount() {
+        return _callCount.get();
+    }
+
+    /**
+     * Replay the next recorded page.
+     *
+     * @return true if the next recorded page exists.
+     */
+    public boolean nextPage() {
+        synchronized (this) {
+            if (_pageIndex + 1 < _pages.size()) {
+                setPageIndex(_pageIndex + 1);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    private void setPageIndex(final int pageIndex) {
+        _pageIndex = pageIndex;
+        if (pageIndex < _pages.size()) {
+            SeleniumReplayPage page = _pages.get(pageIndex);
+            _document = Jsoup.parse(page.getHtml(), page.getUrl());
+        } else {
+            _document = Jsoup.parse("", BLANK_URL);
+        }
+        _pageSource = null;
+        _snapshotCount = 0;
+        _mutationCount++;
+        _changeSets = null;
+    }
+
+    @Override
+    public void get(final String url) {
+        simulateCall();
+        synchronized (this) {
+            for (int i = 0; i < _pages.size(); i++) {
+                if (_pages.get(i).getUrl().equals(url)) {
+                    setPageIndex(i);
+                    return;
+                }
+            }
+        }
+        throw new WebDriverException("Page is not recorded: " + url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        simulateCall();
+        synchronized (this) {
+            return _document.location();
+        }
+    }
+
+    @Override
+    public String getTitle() {
+        simulateCall();
+        synchronized (this) {
+            return _document.title();
+        }
+    }
+
+    @Override
+    public List<WebElement> findElements(final By by) {
+        simulateCall();
+        synchronized (this) {
+            return createWebElements(_document.select(getCssSelector(by)));
+        }
+    }
+
+    @Override
+    public WebElement findElement(final By by) {
+        simulateCall();
+        synchronized (this) {
+            return createWebElement(_document.select(getCssSelector(by)).first(), by);
+        }
+    }
+
+    @Override
+    public String getPageSource() {
+        simulateCall();
+        synchronized (this) {
+            String html = getHtml();
+            snapshotTaken();
+            return html;
+        }
+    }
+
+    @Override
+    public void close() {
+        simulateCall();
+    }
+
+    @Override
+    public void quit() {
+        simulateCall();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        simulateCall();
+        return Collections.singleton(WINDOW_HANDLE);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        simulateCall();
+        return WINDOW_HANDLE;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new ReplayTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new ReplayNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object executeScript(final String script, final Object... args) {
+        simulateCall();
+        String tag = getScriptTag(script);
+        synchronized (this) {
+            switch (tag) {
+                case SNAPSHOT_TAG:
+                    return takeSnapshot(args);
+                case BASE_URL_TAG:
+                    return _document.location();
+                case RESOLVE_TAG:
+                    return resolve((List<?>) args[0]);
+                case FILL_TAG:
+                    return fill((List<?>) args[0], (List<?>) args[1]);
+                case CHANGES_TAG:
+                    return takeChanges(args[0]);
+                default:
+                    throw new WebDriverException("Script is not supported: " + tag);
+            }
+        }
+    }
+
+    @Override
+    public Object executeAsyncScript(final String script, final Object... args) {
+        simulateCall();
+        String tag = getScriptTag(script);
+        if (DOM_CHANGE_TAG.equals(tag)) {
+            return waitForDomChange(((Number) args[0]).longValue(), args[1]);
+        } else {
+            throw new WebDriverException("Script is not supported: " + tag);
+        }
+    }
+
+    private String getScriptTag(final String script) {
+        if (script.startsWith(SCRIPT_TAG_PREFIX)) {
+            int index = script.indexOf(SCRIPT_TAG_SUFFIX, SCRIPT_TAG_PREFIX.length());
+            if (index > 0) {
+                return script.substring(SCRIPT_TAG_PREFIX.length(), index);
+            }
+        }
+        return "";
+    }
+
+    private Map<String, Object> takeSnapshot(final Object[] args) {
+        checkSnapshotArgumentIsNotSet(args, SNAPSHOT_MARKER_ARGUMENT, "element markers");
+        checkSnapshotArgumentIsNotSet(args, SNAPSHOT_FRAME_LOOKUP_ARGUMENT, "frames");
+        checkSnapshotArgumentIsNotSet(args, SNAPSHOT_SHADOW_ROOTS_ARGUMENT, "shadow roots");
+        Object rootLookup = getArgument(args, SNAPSHOT_ROOT_LOOKUP_ARGUMENT);
+        Map<String, Object> snapshot = new HashMap<>();
+        if (rootLookup == null) {
+            snapshot.put(HTML_KEY, getHtml());
+        } else {
+            snapshot.put(HTML_KEY, getScopedHtml((String) rootLookup));
+        }
+        snapshot.put(BASE_URL_KEY, _document.location());
+        snapshot.put(READY_STATE_KEY, READY_STATE_COMPLETE);
+        if (Boolean.TRUE.equals(getArgument(args, SNAPSHOT_TRACK_CHANGES_ARGUMENT))) {
+            if (_changeSets == null) {
+                _changeSets = new LinkedHashMap<>();
+            }
+            snapshot.put(CHANGE_GENERATION_KEY, addChangeSet());
+        }
+        snapshotTaken();
+        return snapshot;
+    }
+
+    private static Object getArgument(final Object[] args, final int index) {
+        if (args != null && index < args.length) {
+            return args[index];
+        } else {
+            return null;
+        }
+    }
+
+    private static void checkSnapshotArgumentIsNotSet(final Object[] args, final int index, final String feature) {
+        Object argument = getArgument(args, index);
+        if (argument != null && !Boolean.FALSE.equals(argument)) {
+            throw new WebDriverException("Snapshot of the " + feature + " is not supported");
+        }
+    }
+
+    private String getHtml() {
+        if (_pageSource == null) {
+            _pageSource = _document.outerHtml();
+        }
+        return _pageSource;
+    }
+
+    private String getScopedHtml(final String rootLookup) {
+        Element root = _document.child(0);
+        Elements roots;
+        try {
+            roots = _document.select(rootLookup);
+        } catch (Selector.SelectorParseException ex) {
+            roots = new Elements(root);
+        }
+        Map<Element, Element> copies = new IdentityHashMap<>();
+        Map<Element, Boolean> expanded = new IdentityHashMap<>();
+        Map<Element, Boolean> copied = new IdentityHashMap<>();
+        copies.put(root, root.shallowClone());
+        for (int i = 0; i < roots.size() && !copied.containsKey(root); i++) {
+            List<Element> path = new ArrayList<>();
+            for (Element element = roots.get(i); element != null && element != root; element = element.parent()) {
+                path.add(0, element);
+            }
+            Element parent = root;
+            for (int j = 0; j < path.size() && !copied.containsKey(parent); j++) {
+                if (!expanded.containsKey(parent)) {
+                    for (Element child : parent.children()) {
+                        Element childCopy = child.shallowClone();
+                        copies.put(child, childCopy);
+                        copies.get(parent).appendChild(childCopy);
+                    }
+                    expanded.put(parent, Boolean.TRUE);
+                }
+                parent = path.get(j);
+            }
+            if (!copied.containsKey(parent)) {
+                Element shallowCopy = copies.get(parent);
+                Element deepCopy = parent.clone();
+                if (shallowCopy.parent() != null) {
+                    shallowCopy.replaceWith(deepCopy);
+                }
+                copies.put(parent, deepCopy);
+                copied.put(parent, Boolean.TRUE);
+            }
+        }
+        String html = copies.get(root).outerHtml();
+        DocumentType documentType = _document.documentType();
+        if (documentType == null) {
+            return html;
+        } else {
+            return documentType.outerHtml() + html;
+        }
+    }
+
+    private void snapshotTaken() {
+        _snapshotCount++;
+        int snapshotsPerPage = _snapshotsPerPage;
+        if (snapshotsPerPage > 0 && _snapshotCount >= snapshotsPerPage && _pageIndex + 1 < _pages.size()) {
+            setPageIndex(_pageIndex + 1);
+        }
+    }
+
+    private List<WebElement> resolve(final List<?> cssSelectors) {
+        List<WebElement> webElements = new ArrayList<>(cssSelectors.size());
+        for (Object cssSelector : cssSelectors) {
+            Element element = _document.selectFirst((String) cssSelector);
+            if (element == null) {
+                webElements.add(null);
+            } else {
+                webElements.add(new SeleniumReplayWebElement(this, element, _document));
+            }
+        }
+        return webElements;
+    }
+
+    private List<Boolean> fill(final List<?> webElements, final List<?> values) {
+        List<Boolean> filled = new ArrayList<>(webElements.size());
+        for (int i = 0; i < webElements.size(); i++) {
+            SeleniumReplayWebElement webElement = (SeleniumReplayWebElement) webElements.get(i);
+            checkNotStale(webElement);
+            filled.add(webElement.setValue((String) values.get(i)));
+        }
+        return filled;
+    }
+
+    private String addChangeSet() {
+        _changeGeneration++;
+        String changeGeneration = String.valueOf(_changeGeneration);
+        _changeSets.put(changeGeneration, new ReplayChangeSet());
+        if (_changeSets.size() > MAX_CHANGE_SET_COUNT) {
+            Iterator<String> iterator = _changeSets.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        return changeGeneration;
+    }
+
+    private Map<String, Object> takeChanges(final Object changeGeneration) {
+        if (_changeSets == null) {
+            return null;
+        }
+        ReplayChangeSet changeSet = _changeSets.remove(changeGeneration);
+        if (changeSet == null) {
+            return null;
+        }
+        List<Map<String, Object>> changes = new ArrayList<>();
+        for (Element subtree : changeSet._subtrees) {
+            if (!isCovered(subtree, changeSet._subtrees)) {
+                Map<String, Object> change = createChange(subtree);
+                change.put(HTML_KEY, subtree.outerHtml());
+                changes.add(change);
+            }
+        }
+        for (Element element : changeSet._attributes) {
+            if (!changeSet._subtrees.contains(element) && !isCovered(element, changeSet._subtrees)) {
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                for (Attribute attribute : element.attributes()) {
+                    attributes.put(attribute.getKey(), attribute.getValue());
+                }
+                Map<String, Object> change = createChange(element);
+                change.put(ATTRIBUTES_KEY, attributes);
+                changes.add(change);
+            }
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put(CHANGE_GENERATION_KEY, addChangeSet());
+        result.put(CHANGES_KEY, changes);
+        result.put(BASE_URL_KEY, _document.location());
+        return result;
+    }
+
+    private static boolean isCovered(final Element element, final Set<Element> subtrees) {
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            if (subtrees.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> createChange(final Element element) {
+        List<Integer> path = new ArrayList<>();
+        List<Integer> childCounts = new ArrayList<>();
+        Element root = _document.child(0);
+        for (Element current = element; current != root; current = current.parent()) {
+            path.add(0, current.elementSiblingIndex());
+            childCounts.add(0, current.parent().childrenSize());
+        }
+        Map<String, Object> change = new HashMap<>();
+        change.put(PATH_KEY, path);
+        change.put(CHILD_COUNTS_KEY, childCounts);
+        change.put(TAG_NAME_KEY, element.normalName());
+        return change;
+    }
+
+    private String waitForDomChange(final long timeOutInMillis, final Object token) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeOutInMillis);
+        while (true) {
+            synchronized (this) {
+                String currentToken = getDomChangeToken();
+                if (!currentToken.equals(token) || System.nanoTime() - deadlineNanos >= 0) {
+                    return currentToken;
+                }
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(DOM_CHANGE_POLL_IN_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                synchronized (this) {
+                    return getDomChangeToken();
+                }
+            }
+        }
+    }
+
+    private String getDomChangeToken() {
+        return WINDOW_HANDLE + ":" + _mutationCount;
+    }
+
+    List<WebElement> createWebElements(final Elements elements) {
+        List<WebElement> webElements = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            webElements.add(new SeleniumReplayWebElement(this, element, _document));
+        }
+        return webElements;
+    }
+
+    WebElement createWebElement(final Element element, final By by) {
+        if (element == null) {
+            throw new NoSuchElementException("Element is not found: " + by);
+        } else {
+            return new SeleniumReplayWebElement(this, element, _document);
+        }
+    }
+
+    void checkNotStale(final SeleniumReplayWebElement webElement) {
+        if (webElement.getDocument() != _document) {
+            throw new StaleElementReferenceException("Element is not attached to the page document");
+        }
+    }
+
+    void elementModified(final Element element, final boolean subtreeModified) {
+        _pageSource = null;
+        _mutationCount++;
+        if (_changeSets != null) {
+            for (ReplayChangeSet changeSet : _changeSets.values()) {
+                if (subtreeModified) {
+                    changeSet._subtrees.add(element);
+                } else {
+                    changeSet._attributes.add(element);
+                }
+            }
+        }
+    }
+
+    void simulateCall() {
+        _callCount.incrementAndGet();
+        long latencyInNanos = _latencyInNanos;
+        if (latencyInNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(latencyInNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static String getCssSelector(final By by) {
+        String locator = by.toString();
+        if (by instanceof By.ByCssSelector) {
+            return getLocatorValue(locator);
+        }
+        if (by instanceof By.ById) {
+            return "[id=\"" + getLocatorValue(locator) + "\"]";
+        }
+        if (by instanceof By.ByName) {
+            return "[name=\"" + getLocatorValue(locator) + "\"]";
+        }
+        if (by instanceof By.ByClassName) {
+            return "." + getLocatorValue(locator);
+        }
+        if (by instanceof By.ByTagName) {
+            return getLocatorValue(locator);
+        }
+        throw new WebDriverException("Locator is not supported: " + locator);
+    }
+
+    private static String getLocatorValue(final String locator) {
+        int index = locator.indexOf(": ");
+        return locator.substring(index + 2);
+    }
+
+    /**
+     * The elements, modified since the page snapshot or the previous changes with the same generation.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ReplayChangeSet {
+
+        final Set<Element> _subtrees;
+
+        final Set<Element> _attributes;
+
+        ReplayChangeSet() {
+            super();
+            _subtrees = Collections.newSetFromMap(new LinkedHashMap<Element, Boolean>());
+            _attributes = Collections.newSetFromMap(new LinkedHashMap<Element, Boolean>());
+        }
+
+    }
+
+    /**
+     * The target locator of the single window without frames.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private final class ReplayTargetLocator implements TargetLocator {
+
+        ReplayTargetLocator() {
+            super();
+        }
+
+        @Override
+        public WebDriver frame(final int index) {
+            simulateCall();
+            return SeleniumReplayWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(final String nameOrId) {
+            simulateCall();
+            return SeleniumReplayWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(final WebElement frameElement) {
+            simulateCall();
+            return SeleniumReplayWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            simulateCall();
+            return SeleniumReplayWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(final String nameOrHandle) {
+            simulateCall();
+            if (WINDOW_HANDLE.equals(nameOrHandle)) {
+                return SeleniumReplayWebDriver.this;
+            } else {
+                throw new NoSuchWindowException("Window is not recorded: " + nameOrHandle);
+            }
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            simulateCall();
+            return SeleniumReplayWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Alert alert() {
+            simulateCall();
+            throw new NoAlertPresentException();
+        }
+
+    }
+
+    /**
+     * The navigation between the recorded pages.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private final class ReplayNavigation implements Navigation {
+
+        ReplayNavigation() {
+            super();
+        }
+
+        @Override
+        public void back() {
+            simulateCall();
+            synchronized (SeleniumReplayWebDriver.this) {
+                if (_pageIndex > 0) {
+                    setPageIndex(_pageIndex - 1);
+                }
+            }
+        }
+
+        @Override
+        public void forward() {
+            simulateCall();
+            synchronized (SeleniumReplayWebDriver.this) {
+                if (_pageIndex + 1 < _pages.size()) {
+                    setPageIndex(_pageIndex + 1);
+                }
+            }
+        }
+
+        @Override
+        public void to(final String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(final URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            simulateCall();
+            synchronized (SeleniumReplayWebDriver.this) {
+                setPageIndex(_pageIndex);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,299 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model Selenium binding is a form model binding implementation for Selenium WebDriver.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model Selenium binding.
+//
+// Form model Selenium binding is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model Selenium binding is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding.selenium.replay;
+
+import java.util.List;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The web element of the replayed page. The web element is stale, when the web driver replays another page.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SeleniumReplayWebElement implements WebElement {
+
+    private static final String VALUE_ATTRIBUTE = "value";
+
+    private static final String TEXT_CONTENT_PROPERTY = "textContent";
+
+    private static final String CHECKED_ATTRIBUTE = "checked";
+
+    private static final String SELECTED_ATTRIBUTE = "selected";
+
+    private static final String DISABLED_ATTRIBUTE = "disabled";
+
+    private static final String HIDDEN_ATTRIBUTE = "hidden";
+
+    private static final String TYPE_ATTRIBUTE = "type";
+
+    private static final String INPUT_TAG = "input";
+
+    private static final String TEXTAREA_TAG = "textarea";
+
+    private static final String SELECT_TAG = "select";
+
+    private static final String OPTION_TAG = "option";
+
+    private static final String CHECKBOX_TYPE = "checkbox";
+
+    private static final String RADIO_TYPE = "radio";
+
+    private static final char FIRST_KEY_CHAR = '\uE000';
+
+    private static final char LAST_KEY_CHAR = '\uE05D';
+
+    private final SeleniumReplayWebDriver _webDriver;
+
+    private final Element _element;
+
+    private final Document _document;
+
+    SeleniumReplayWebElement(final SeleniumReplayWebDriver webDriver, final Element element, final Document document) {
+        super();
+        _webDriver = webDriver;
+        _element = element;
+        _document = document;
+    }
+
+    Document getDocument() {
+        return _document;
+    }
+
+    @Override
+    public void click() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            String type = _element.attr(TYPE_ATTRIBUTE);
+            if (INPUT_TAG.equals(_element.normalName()) && (CHECKBOX_TYPE.equals(type) || RADIO_TYPE.equals(type))) {
+                if (_element.hasAttr(CHECKED_ATTRIBUTE) && CHECKBOX_TYPE.equals(type)) {
+                    _element.removeAttr(CHECKED_ATTRIBUTE);
+                } else {
+                    _element.attr(CHECKED_ATTRIBUTE, true);
+                }
+                _webDriver.elementModified(_element, false);
+            }
+        }
+    }
+
+    @Override
+    public void submit() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+        }
+    }
+
+    @Override
+    public void sendKeys(final CharSequence... keysToSend) {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            StringBuilder value = new StringBuilder(getValue());
+            for (CharSequence keys : keysToSend) {
+                for (int i = 0; i < keys.length(); i++) {
+                    char ch = keys.charAt(i);
+                    if (ch < FIRST_KEY_CHAR || ch > LAST_KEY_CHAR) {
+                        value.append(ch);
+                    }
+                }
+            }
+            setValue(value.toString());
+        }
+    }
+
+    @Override
+    public void clear() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            setValue("");
+        }
+    }
+
+    @Override
+    public String getTagName() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return _element.tagName();
+        }
+    }
+
+    @Override
+    public String getAttribute(final String name) {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            if (VALUE_ATTRIBUTE.equals(name)) {
+                return getValue();
+            }
+            if (TEXT_CONTENT_PROPERTY.equals(name)) {
+                return _element.wholeText();
+            }
+            if (_element.hasAttr(name)) {
+                return _element.attr(name);
+            } else {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSelected() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return _element.hasAttr(CHECKED_ATTRIBUTE) || _element.hasAttr(SELECTED_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return !_element.hasAttr(DISABLED_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public String getText() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return _element.text();
+        }
+    }
+
+    @Override
+    public List<WebElement> findElements(final By by) {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return _webDriver.createWebElements(_element.select(SeleniumReplayWebDriver.getCssSelector(by)));
+        }
+    }
+
+    @Override
+    public WebElement findElement(final By by) {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            return _webDriver.createWebElement(_element.selectFirst(SeleniumReplayWebDriver.getCssSelector(by)), by);
+        }
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        _webDriver.simulateCall();
+        synchronized (_webDriver) {
+            _webDriver.checkNotStale(this);
+            for (Element element = _element; element != null; element = element.parent()) {
+                if (element.hasAttr(HIDDEN_ATTRIBUTE)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public Point getLocation() {
+        _webDriver.simulateCall();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        _webDriver.simulateCall();
+        return new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        _webDriver.simulateCall();
+        return new Rectangle(0, 0, 0, 0);
+    }
+
+    @Override
+    public String getCssValue(final String propertyName) {
+        _webDriver.simulateCall();
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(final OutputType<X> target) {
+        throw new UnsupportedOperationException();
+    }
+
+    private String getValue() {
+        if (TEXTAREA_TAG.equals(_element.normalName())) {
+            return _element.wholeText();
+        } else {
+            return _element.attr(VALUE_ATTRIBUTE);
+        }
+    }
+
+    boolean setValue(final String value) {
+        String tagName = _element.normalName();
+        if (INPUT_TAG.equals(tagName)) {
+            _element.attr(VALUE_ATTRIBUTE, value);
+            _webDriver.elementModified(_element, false);
+            return true;
+        } else if (TEXTAREA_TAG.equals(tagName)) {
+            _element.text(value);
+            _webDriver.elementModified(_element, true);
+            return true;
+        } else if (SELECT_TAG.equals(tagName)) {
+            return selectOption(value);
+        } else {
+            return false;
+        }
+    }
+
+    private boolean selectOption(final String value) {
+        Element selectedOption = null;
+        for (Element option : _element.getElementsByTag(OPTION_TAG)) {
+            if (option.text().equals(value) || option.attr(VALUE_ATTRIBUTE).equals(value)) {
+                selectedOption = option;
+                break;
+            }
+        }
+        if (selectedOption == null) {
+            return false;
+        }
+        for (Element option : _element.getElementsByTag(OPTION_TAG)) {
+            option.removeAttr(SELECTED_ATTRIBUTE);
+        }
+        selectedOption.attr(SELECTED_ATTRIBUTE, true);
+        _webDriver.elementModified(_element, true);
+        return true;
+    }
+
+}